@@ -0,0 +1,72 @@
+package com.leonardo.propostaapp.benchmark;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.leonardo.propostaapp.dto.ProposalBatchResponse;
+import com.leonardo.propostaapp.dto.ProposalRequest;
+import com.leonardo.propostaapp.service.ProposalBatchService;
+import com.leonardo.propostaapp.service.ProposalService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares bulk intake with one proposal per call against an embedded
+ * PostgreSQL database. Scores are in proposals (rows) per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchIntakeBenchmark {
+
+    private static final int PROPOSALS_PER_INVOCATION = 1000;
+
+    private EmbeddedProposalApp app;
+    private ProposalService proposalService;
+    private ProposalBatchService proposalBatchService;
+    private List<ProposalRequest> requests;
+
+    @Setup
+    public void setUp() throws IOException {
+        app = EmbeddedProposalApp.start();
+        proposalService = app.getBean(ProposalService.class);
+        proposalBatchService = app.getBean(ProposalBatchService.class);
+        requests = Collections.nCopies(PROPOSALS_PER_INVOCATION, EmbeddedProposalApp.sampleRequest());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        app.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROPOSALS_PER_INVOCATION)
+    public void createOneByOne(Blackhole blackhole) {
+        for (ProposalRequest request : requests) {
+            blackhole.consume(proposalService.createProposal(request));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROPOSALS_PER_INVOCATION)
+    public ProposalBatchResponse createBatch() {
+        return proposalBatchService.submit(requests);
+    }
+}
@@ -0,0 +1,38 @@
+package com.leonardo.propostaapp.benchmark;
+
+import com.leonardo.propostaapp.ProposalAppApplication;
+import com.leonardo.propostaapp.config.PropertySourceConfiguration;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * Application context used by the end-to-end benchmarks. Loads the real
+ * application components but leaves out scheduling, the forced local database
+ * properties and the RabbitMQ startup declarations, so the pipeline can run
+ * against an embedded database without a broker.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@AutoConfigurationPackage(basePackages = "com.leonardo.propostaapp")
+@ComponentScan(basePackages = "com.leonardo.propostaapp",
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = { ProposalAppApplication.class, PropertySourceConfiguration.class }))
+public class BenchmarkApplication {
+
+    /**
+     * Replaces the RabbitAdmin initialization, which would need a running
+     * broker.
+     */
+    @Bean
+    ApplicationListener<ApplicationReadyEvent> initializeAdmin() {
+        return event -> {
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.leonardo.propostaapp.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.listener.CompletedProposalListener;
+import com.leonardo.propostaapp.service.ProposalService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Benchmark of completed-proposal processing against an embedded PostgreSQL
+ * database. Every invocation handles the same number of messages split into
+ * batches of the given size, so the score is comparable in messages per
+ * second across batch sizes and stripe counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompletedProposalBatchBenchmark {
+
+    private static final int MESSAGES_PER_INVOCATION = 500;
+
+    @Param({ "1", "50", "500" })
+    public int batchSize;
+
+    @Param({ "1", "8" })
+    public int stripes;
+
+    private EmbeddedProposalApp app;
+    private CompletedProposalListener listener;
+    private List<List<Proposal>> batches;
+    private boolean approved;
+
+    @Setup
+    public void setUp() throws IOException {
+        app = EmbeddedProposalApp.start("rabbitmq.listener.completed-proposal.stripes=" + stripes);
+        listener = app.getBean(CompletedProposalListener.class);
+        ProposalService proposalService = app.getBean(ProposalService.class);
+
+        List<Proposal> completed = new ArrayList<>();
+        for (int i = 0; i < MESSAGES_PER_INVOCATION; i++) {
+            completed.add(proposalService.createProposal(EmbeddedProposalApp.sampleRequest()));
+        }
+
+        batches = new ArrayList<>();
+        for (int from = 0; from < completed.size(); from += batchSize) {
+            batches.add(completed.subList(from, Math.min(from + batchSize, completed.size())));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        app.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_INVOCATION)
+    public void handleCompletedProposals() {
+        approved = !approved;
+        for (List<Proposal> batch : batches) {
+            batch.forEach(proposal -> {
+                proposal.setApproved(approved);
+                proposal.setObservation(approved ? "Approved" : "Denied");
+            });
+            listener.handleCompletedProposals(batch.stream()
+                    .map(proposal -> MessageBuilder.withPayload(proposal).build())
+                    .toList());
+        }
+    }
+}
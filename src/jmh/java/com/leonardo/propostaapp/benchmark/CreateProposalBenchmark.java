@@ -0,0 +1,54 @@
+package com.leonardo.propostaapp.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.leonardo.propostaapp.dto.ProposalRequest;
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.service.ProposalService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end benchmark of {@link ProposalService#createProposal} against an
+ * embedded PostgreSQL database, including the outbox write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateProposalBenchmark {
+
+    private EmbeddedProposalApp app;
+    private ProposalService proposalService;
+    private ProposalRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        app = EmbeddedProposalApp.start();
+        proposalService = app.getBean(ProposalService.class);
+        request = EmbeddedProposalApp.sampleRequest();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        app.close();
+    }
+
+    @Benchmark
+    public Proposal createProposal() {
+        return proposalService.createProposal(request);
+    }
+}
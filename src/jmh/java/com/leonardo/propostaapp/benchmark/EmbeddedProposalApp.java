@@ -0,0 +1,100 @@
+package com.leonardo.propostaapp.benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import com.leonardo.propostaapp.dto.ProposalRequest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Starts the application against an embedded PostgreSQL instance with the
+ * broker stubbed out, for benchmarks exercising the real persistence path.
+ */
+final class EmbeddedProposalApp implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedProposalApp(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    /**
+     * Starts the embedded database and the application context.
+     *
+     * @param properties Additional application properties, as {@code key=value}
+     * @return The running application
+     * @throws IOException if the embedded database cannot be started
+     */
+    static EmbeddedProposalApp start(String... properties) throws IOException {
+        return start(new Class<?>[0], properties);
+    }
+
+    /**
+     * Starts the embedded database and the application context with extra
+     * configuration. Beans of the extra configuration replace application
+     * beans of the same name.
+     *
+     * @param configuration The extra configuration class
+     * @param properties Additional application properties, as {@code key=value}
+     * @return The running application
+     * @throws IOException if the embedded database cannot be started
+     */
+    static EmbeddedProposalApp start(Class<?> configuration, String... properties) throws IOException {
+        return start(new Class<?>[] { configuration }, properties);
+    }
+
+    private static EmbeddedProposalApp start(Class<?>[] configuration, String[] properties) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.start();
+        // Passed as command-line arguments, since builder properties are only
+        // defaults and application.properties would win over them.
+        String[] args = Stream.concat(Arrays.stream(properties), Stream.of(
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres")
+                                + "&reWriteBatchedInserts=true",
+                        "spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=postgres",
+                        "spring.main.allow-bean-definition-overriding=true",
+                        "spring.rabbitmq.listener.simple.auto-startup=false",
+                        "outbox.relay.enabled=false",
+                        "server.port=0",
+                        "logging.level.com.leonardo.propostaapp=WARN"))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .sources(configuration)
+                .run(args);
+        return new EmbeddedProposalApp(postgres, context);
+    }
+
+    /**
+     * Returns a bean of the running application.
+     *
+     * @param type The bean type
+     * @return The bean
+     */
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Builds a valid proposal request.
+     *
+     * @return The proposal request
+     */
+    static ProposalRequest sampleRequest() {
+        return new ProposalRequest("John", "Doe", "123.456.789-00", "5511987654321", 12000.0, 10000.0, 36);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,70 @@
+package com.leonardo.propostaapp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.messaging.ProposalBinaryMessageConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+/**
+ * Benchmarks for the AMQP wire formats of proposals: the JSON format and the
+ * compact binary format. The sample message sizes are recorded in the README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageConverterBenchmark {
+
+    private Jackson2JsonMessageConverter converter;
+    private ProposalBinaryMessageConverter binaryConverter;
+    private Proposal proposal;
+    private Message message;
+    private Message binaryMessage;
+
+    @Setup
+    public void setUp() {
+        converter = new Jackson2JsonMessageConverter();
+        var request = EmbeddedProposalApp.sampleRequest();
+        proposal = request.toProposal(request.toUser());
+        proposal.setId(1L);
+        message = converter.toMessage(proposal, new MessageProperties());
+        binaryConverter = new ProposalBinaryMessageConverter(converter);
+        binaryMessage = binaryConverter.toMessage(proposal, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message encode() {
+        return converter.toMessage(proposal, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decode() {
+        return converter.fromMessage(message);
+    }
+
+    @Benchmark
+    public Message encodeBinary() {
+        return binaryConverter.toMessage(proposal, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return binaryConverter.fromMessage(binaryMessage);
+    }
+}
@@ -0,0 +1,157 @@
+package com.leonardo.propostaapp.benchmark;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.leonardo.propostaapp.dto.ProposalRequest;
+import com.leonardo.propostaapp.service.ProposalBatchService;
+import com.leonardo.propostaapp.service.ProposalOutboxService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Benchmark of the outbox relay against an embedded PostgreSQL database and a
+ * stand-in broker that acks every publisher confirm after a fixed delay.
+ * {@code relayBacklog} drains a backlog in batches of the given size and is
+ * scored in messages per second; {@code relayBatch} samples the latency of
+ * relaying a single batch.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboxRelayBenchmark {
+
+    private static final int BACKLOG = 500;
+
+    @Param({ "1", "100", "500" })
+    public int batchSize;
+
+    @Param({ "0", "200" })
+    public long confirmDelayMicros;
+
+    private EmbeddedProposalApp app;
+    private ProposalOutboxService proposalOutboxService;
+    private ProposalBatchService proposalBatchService;
+    private List<ProposalRequest> requests;
+    private int pending;
+
+    @Setup
+    public void setUp() throws IOException {
+        app = EmbeddedProposalApp.start(StandInBroker.class,
+                "outbox.relay.batch-size=" + batchSize,
+                "benchmark.broker.confirm-delay-us=" + confirmDelayMicros);
+        proposalOutboxService = app.getBean(ProposalOutboxService.class);
+        proposalBatchService = app.getBean(ProposalBatchService.class);
+        requests = Collections.nCopies(BACKLOG, EmbeddedProposalApp.sampleRequest());
+    }
+
+    /**
+     * Tops the outbox back up to the full backlog outside the measurement.
+     */
+    @Setup(Level.Invocation)
+    public void fillOutbox() {
+        if (pending < BACKLOG) {
+            proposalBatchService.submit(requests.subList(0, BACKLOG - pending));
+            pending = BACKLOG;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        app.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BACKLOG)
+    public void relayBacklog() {
+        int relayed;
+        do {
+            relayed = proposalOutboxService.relayBatch();
+            pending -= relayed;
+        } while (relayed > 0);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int relayBatch() {
+        int relayed = proposalOutboxService.relayBatch();
+        pending -= relayed;
+        return relayed;
+    }
+
+    /**
+     * Replaces the application's RabbitTemplate with one that encodes each
+     * message and acks its confirm from a separate thread, like a broker
+     * would, instead of publishing it. Not annotated, so component scanning of
+     * the other benchmarks does not pick it up.
+     */
+    static class StandInBroker {
+
+        @Bean
+        RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory,
+                @Qualifier("proposalMessageConverter") MessageConverter messageConverter,
+                @Value("${benchmark.broker.confirm-delay-us}") long confirmDelayMicros) {
+            var rabbitTemplate = new StandInRabbitTemplate(connectionFactory, confirmDelayMicros);
+            rabbitTemplate.setMessageConverter(messageConverter);
+            return rabbitTemplate;
+        }
+    }
+
+    private static class StandInRabbitTemplate extends RabbitTemplate {
+
+        private final ScheduledExecutorService broker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("stand-in-broker").daemon().factory());
+        private final long confirmDelayMicros;
+
+        StandInRabbitTemplate(ConnectionFactory connectionFactory, long confirmDelayMicros) {
+            super(connectionFactory);
+            this.confirmDelayMicros = confirmDelayMicros;
+        }
+
+        @Override
+        public void convertAndSend(String exchange, String routingKey, Object object,
+                MessagePostProcessor messagePostProcessor, CorrelationData correlationData) {
+            Message message = getMessageConverter().toMessage(object, new MessageProperties());
+            messagePostProcessor.postProcessMessage(message);
+            broker.schedule(() -> correlationData.getFuture().complete(new CorrelationData.Confirm(true, null)),
+                    confirmDelayMicros, TimeUnit.MICROSECONDS);
+        }
+
+        @Override
+        public void destroy() {
+            super.destroy();
+            broker.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.leonardo.propostaapp.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leonardo.propostaapp.dto.ProposalExportRequest;
+import com.leonardo.propostaapp.dto.ProposalPageResponse;
+import com.leonardo.propostaapp.service.ProposalBatchService;
+import com.leonardo.propostaapp.service.ProposalExportService;
+import com.leonardo.propostaapp.service.ProposalService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares a full proposal dump through the paginated REST path, with JPA
+ * projections, response DTOs and JSON serialization, against the COPY-based
+ * CSV export, plain and gzip-compressed, on an embedded PostgreSQL database.
+ * Scores are in proposals (rows) per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProposalExportBenchmark {
+
+    private static final int ROWS = 20_000;
+    private static final int INTAKE_BATCH_SIZE = 5_000;
+    private static final int PAGE_SIZE = 500;
+
+    private EmbeddedProposalApp app;
+    private ProposalService proposalService;
+    private ProposalExportService proposalExportService;
+    private ObjectMapper objectMapper;
+    private ProposalExportRequest allColumns;
+
+    @Setup
+    public void setUp() throws IOException {
+        app = EmbeddedProposalApp.start("proposal.page.max-size=" + PAGE_SIZE);
+        proposalService = app.getBean(ProposalService.class);
+        proposalExportService = app.getBean(ProposalExportService.class);
+        objectMapper = app.getBean(ObjectMapper.class);
+        allColumns = new ProposalExportRequest(null, null, null);
+
+        ProposalBatchService proposalBatchService = app.getBean(ProposalBatchService.class);
+        for (int created = 0; created < ROWS; created += INTAKE_BATCH_SIZE) {
+            proposalBatchService.submit(Collections.nCopies(INTAKE_BATCH_SIZE, EmbeddedProposalApp.sampleRequest()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        app.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void restPages(Blackhole blackhole) throws IOException {
+        long afterId = 0;
+        ProposalPageResponse page;
+        do {
+            page = proposalService.getProposalPage(afterId, PAGE_SIZE);
+            blackhole.consume(objectMapper.writeValueAsBytes(page));
+            afterId = page.nextCursor() == null ? 0 : page.nextCursor();
+        } while (page.nextCursor() != null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long copyExport() throws IOException {
+        return proposalExportService.export(allColumns, OutputStream.nullOutputStream(), false);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long copyExportGzip() throws IOException {
+        return proposalExportService.export(allColumns, OutputStream.nullOutputStream(), true);
+    }
+}
@@ -0,0 +1,110 @@
+package com.leonardo.propostaapp.benchmark;
+
+import java.text.NumberFormat;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leonardo.propostaapp.dto.ProposalRequest;
+import com.leonardo.propostaapp.dto.ProposalResponse;
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.entity.User;
+import com.leonardo.propostaapp.mapper.CurrencyFormatter;
+import com.leonardo.propostaapp.mapper.ProposalResponseMapper;
+import com.leonardo.propostaapp.mapper.ProposalResponseRenderer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for request and response mapping: {@link ProposalRequest}
+ * conversions, {@link ProposalResponse} construction and rendering, compared
+ * with the constructor-plus-reflective-Jackson path used before the dedicated
+ * renderer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProposalMappingBenchmark {
+
+    private ProposalRequest request;
+    private User user;
+    private Proposal proposal;
+    private ProposalResponseMapper mapper;
+    private ProposalResponseRenderer renderer;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        request = EmbeddedProposalApp.sampleRequest();
+        user = request.toUser();
+        proposal = request.toProposal(user);
+        proposal.setId(1L);
+        objectMapper = new ObjectMapper();
+        mapper = new ProposalResponseMapper(new CurrencyFormatter("en-US"));
+        renderer = new ProposalResponseRenderer(objectMapper);
+    }
+
+    @Benchmark
+    public User toUser() {
+        return request.toUser();
+    }
+
+    @Benchmark
+    public Proposal toProposal() {
+        return request.toProposal(user);
+    }
+
+    @Benchmark
+    public ProposalResponse buildResponse() {
+        return mapper.toResponse(proposal);
+    }
+
+    @Benchmark
+    public LegacyProposalResponse buildResponseLegacy() {
+        return LegacyProposalResponse.of(proposal);
+    }
+
+    @Benchmark
+    public byte[] renderResponse() {
+        return renderer.render(mapper.toResponse(proposal)).json();
+    }
+
+    @Benchmark
+    public byte[] renderResponseLegacy() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(LegacyProposalResponse.of(proposal));
+    }
+
+    /**
+     * Response built the way ProposalResponse used to be: a new currency
+     * formatter per call and reflective record serialization.
+     */
+    public record LegacyProposalResponse(String name, String lastName, String phoneNumber, String cpf,
+            Double financialIncome, String proposalValueFormatted, int paymentTerm, Boolean approved,
+            String observation) {
+
+        static LegacyProposalResponse of(Proposal proposal) {
+            return new LegacyProposalResponse(
+                    proposal.getUser().getName().toUpperCase(),
+                    proposal.getUser().getLastName().toUpperCase(),
+                    proposal.getUser().getPhoneNumber(),
+                    proposal.getUser().getCpf(),
+                    proposal.getUser().getFinancialIncome(),
+                    NumberFormat.getCurrencyInstance().format(proposal.getProposalValue()),
+                    proposal.getPaymentTerm(),
+                    proposal.getApproved(),
+                    proposal.getObservation());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.leonardo.propostaapp.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.leonardo.propostaapp.websocket.IndexedSubscriptionRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Benchmarks the broker-side cost of routing one proposal update with many
+ * connected sessions. "broadcast" is the former setup, where every session
+ * subscribes to {@code /proposals} and receives every update; the other modes
+ * have each session follow its own {@code /proposals/{id}}, with the default
+ * and the indexed registry. The number of matched sessions is the number of
+ * frames the broker then writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubscriptionRegistryBenchmark {
+
+    @Param({ "10000" })
+    public int sessions;
+
+    @Param({ "broadcast", "default", "indexed" })
+    public String mode;
+
+    private SubscriptionRegistry registry;
+    private Message<?>[] updates;
+
+    @Setup
+    public void setUp() {
+        registry = "indexed".equals(mode) ? new IndexedSubscriptionRegistry() : new DefaultSubscriptionRegistry();
+        boolean broadcast = "broadcast".equals(mode);
+        updates = new Message<?>[sessions];
+        for (int i = 0; i < sessions; i++) {
+            String destination = broadcast ? "/proposals" : "/proposals/" + i;
+            registry.registerSubscription(message(SimpMessageType.SUBSCRIBE, "session-" + i, destination));
+            updates[i] = message(SimpMessageType.MESSAGE, null, destination);
+        }
+    }
+
+    @Benchmark
+    public MultiValueMap<String, String> routeUpdate() {
+        return registry.findSubscriptions(updates[ThreadLocalRandom.current().nextInt(sessions)]);
+    }
+
+    private static Message<byte[]> message(SimpMessageType type, String sessionId, String destination) {
+        var accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
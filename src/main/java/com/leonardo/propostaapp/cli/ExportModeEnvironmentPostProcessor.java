@@ -0,0 +1,49 @@
+package com.leonardo.propostaapp.cli;
+
+import java.util.Map;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.StringUtils;
+
+/**
+ * Switches the application into command-line export mode when
+ * {@code proposal.export.output} is set. The export runs without the web
+ * server, the RabbitMQ listeners, the outbox relay and the scheduled jobs, so
+ * the process neither serves requests nor consumes messages it would drop on
+ * exit. These settings take precedence over any other configuration.
+ */
+public class ExportModeEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String PROPERTY_SOURCE_NAME = "proposalExportMode";
+
+    private static final String EXPORT_OUTPUT_PROPERTY = "proposal.export.output";
+
+    private static final Map<String, Object> EXPORT_MODE_PROPERTIES = Map.of(
+            "spring.main.web-application-type", "none",
+            "spring.rabbitmq.listener.simple.auto-startup", "false",
+            "outbox.relay.enabled", "false",
+            "proposal.partition.maintenance.enabled", "false",
+            "scheduling.enabled", "false");
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (StringUtils.hasText(environment.getProperty(EXPORT_OUTPUT_PROPERTY))) {
+            environment.getPropertySources()
+                    .addFirst(new MapPropertySource(PROPERTY_SOURCE_NAME, EXPORT_MODE_PROPERTIES));
+        }
+    }
+
+    /**
+     * Runs after the application's config files have been loaded, so an export
+     * output set there is seen too.
+     */
+    @Override
+    public int getOrder() {
+        return ConfigDataEnvironmentPostProcessor.ORDER + 1;
+    }
+}
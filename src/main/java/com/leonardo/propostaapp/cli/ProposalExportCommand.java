@@ -0,0 +1,63 @@
+package com.leonardo.propostaapp.cli;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.leonardo.propostaapp.dto.ProposalExportRequest;
+import com.leonardo.propostaapp.service.ProposalExportService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Command-line export mode. When {@code proposal.export.output} is set, the
+ * application writes the proposal export to that file on startup and exits.
+ * Files ending in {@code .gz} are gzip-compressed. The web server, listeners
+ * and scheduled jobs stay off in this mode, see
+ * {@link ExportModeEnvironmentPostProcessor}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "proposal.export.output")
+public class ProposalExportCommand implements ApplicationRunner {
+
+    private static final String GZIP_SUFFIX = ".gz";
+
+    private final ProposalExportService proposalExportService;
+    private final ApplicationContext applicationContext;
+
+    @Value("${proposal.export.output}")
+    private Path output;
+
+    @Value("${proposal.export.columns:}")
+    private List<String> columns;
+
+    @Value("${proposal.export.approved:#{null}}")
+    private Boolean approved;
+
+    @Value("${proposal.export.integrated:#{null}}")
+    private Boolean integrated;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        var request = new ProposalExportRequest(columns, approved, integrated);
+        boolean gzip = output.getFileName().toString().endsWith(GZIP_SUFFIX);
+        long rows;
+        try (OutputStream file = Files.newOutputStream(output)) {
+            rows = proposalExportService.export(request, file, gzip);
+        }
+        log.info("Exported {} proposals to {}", rows, output);
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+}
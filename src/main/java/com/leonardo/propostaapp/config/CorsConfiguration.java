@@ -1,5 +1,7 @@
 package com.leonardo.propostaapp.config;
 
+import com.leonardo.propostaapp.websocket.ProposalSubscriptionTokens;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,6 +33,7 @@ public class CorsConfiguration {
                         .allowedOrigins("http://localhost:3000/")
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders(ProposalSubscriptionTokens.HEADER)
                         .allowCredentials(true)
                         .maxAge(3600);
 
@@ -1,19 +1,34 @@
 package com.leonardo.propostaapp.config;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import javax.sql.DataSource;
 
-import org.springframework.boot.jdbc.DataSourceBuilder;
+import com.leonardo.propostaapp.datasource.ConcurrencyLimitingDataSource;
+import com.leonardo.propostaapp.datasource.ReadWriteRoutingDataSource;
+import com.leonardo.propostaapp.datasource.ReplicaConfiguredCondition;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Configuration for PostgreSQL database connections. Provides explicit control
- * over datasource configuration to avoid driver/URL mismatches.
+ * over datasource configuration to avoid driver/URL mismatches, sizes each
+ * connection pool explicitly, optionally routes read-only transactions to a
+ * replica, and bounds database concurrency when running on virtual threads.
  */
 @Slf4j
 @Configuration
@@ -22,18 +37,27 @@ public class DatabaseConfiguration {
 
     private static final String APP_PREFIX = "spring.datasource";
     private static final String POSTGRESQL_PREFIX = "jdbc:postgresql";
+    private static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+    private static final String PRIMARY_POOL_PREFIX = "database.primary";
+    private static final String REPLICA_POOL_PREFIX = "database.replica";
 
     private final Environment environment;
+    private final List<HikariDataSource> pools = new CopyOnWriteArrayList<>();
 
     /**
-     * Creates the application's primary PostgreSQL data source with validation
-     * to ensure driver and URL compatibility.
+     * Creates the application's PostgreSQL data source with validation to
+     * ensure driver and URL compatibility. When {@code database.replica.url} is
+     * set, read-only transactions are routed to a separate replica pool and
+     * everything else to the primary pool. With virtual threads enabled, each
+     * pool is fronted by a limiter so unbounded virtual threads queue for a
+     * permit instead of contending for pooled connections.
      *
+     * @param meterRegistry The registry the pool metrics are bound to, if any
      * @return Configured PostgreSQL DataSource
      */
     @Bean
     @Primary
-    public DataSource dataSource() {
+    public DataSource dataSource(ObjectProvider<MeterRegistry> meterRegistry) {
         // Try app-specific properties first to avoid conflicts
         String url = environment.getProperty(APP_PREFIX + ".url");
         String driverClassName = environment.getProperty(APP_PREFIX + ".driver-class-name");
@@ -54,12 +78,103 @@ public class DatabaseConfiguration {
 
         validatePostgresConfiguration(url, driverClassName);
 
-        return DataSourceBuilder.create()
-                .url(url)
-                .driverClassName(driverClassName)
-                .username(username)
-                .password(password)
-                .build();
+        DataSource primary = limitConcurrency(
+                createPool("primary", PRIMARY_POOL_PREFIX, url, driverClassName, username, password, false,
+                        meterRegistry),
+                environment.getProperty("database.max-concurrency", Integer.class, 10));
+
+        if (!ReplicaConfiguredCondition.isReplicaConfigured(environment)) {
+            return primary;
+        }
+        String replicaUrl = environment.getProperty(ReplicaConfiguredCondition.REPLICA_URL_PROPERTY);
+
+        validatePostgresConfiguration(replicaUrl, driverClassName);
+        DataSource replica = limitConcurrency(
+                createPool("replica", REPLICA_POOL_PREFIX, replicaUrl, driverClassName,
+                        environment.getProperty(REPLICA_POOL_PREFIX + ".username", username),
+                        environment.getProperty(REPLICA_POOL_PREFIX + ".password", password), true,
+                        meterRegistry),
+                environment.getProperty(REPLICA_POOL_PREFIX + ".max-concurrency", Integer.class, 10));
+
+        log.info("Routing read-only transactions to replica {}", replicaUrl);
+        // The lazy proxy defers fetching the connection until the first statement,
+        // by which time the transaction's read-only flag is known to the router.
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+    }
+
+    /**
+     * Creates a Hikari pool with explicit sizing and pgjdbc server-side
+     * statement caching, read from the properties under the given prefix. The
+     * pool is started lazily on first use.
+     *
+     * @param poolName The pool name, used as the metrics tag
+     * @param prefix The property prefix of the pool settings
+     * @param url The JDBC URL
+     * @param driverClassName The JDBC driver class name
+     * @param username The database user
+     * @param password The database password
+     * @param readOnly Whether connections of the pool are read-only
+     * @param meterRegistry The registry the pool metrics are bound to, if any
+     * @return The configured pool
+     */
+    private HikariDataSource createPool(String poolName, String prefix, String url, String driverClassName,
+            String username, String password, boolean readOnly, ObjectProvider<MeterRegistry> meterRegistry) {
+        int maximumPoolSize = environment.getProperty(prefix + ".maximum-pool-size", Integer.class, 10);
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setDriverClassName(driverClassName);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setReadOnly(readOnly);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(environment.getProperty(prefix + ".minimum-idle", Integer.class, maximumPoolSize));
+        config.setConnectionTimeout(environment.getProperty(prefix + ".connection-timeout-ms", Long.class, 30000L));
+        config.setMaxLifetime(environment.getProperty(prefix + ".max-lifetime-ms", Long.class, 1800000L));
+        config.addDataSourceProperty("prepareThreshold",
+                environment.getProperty(prefix + ".prepare-threshold", Integer.class, 5));
+        config.addDataSourceProperty("preparedStatementCacheQueries",
+                environment.getProperty(prefix + ".prepared-statement-cache-queries", Integer.class, 256));
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB",
+                environment.getProperty(prefix + ".prepared-statement-cache-size-mib", Integer.class, 5));
+        meterRegistry.ifAvailable(config::setMetricRegistry);
+
+        HikariDataSource pool = new HikariDataSource();
+        config.copyStateTo(pool);
+        pools.add(pool);
+        log.info("Configured '{}' pool with at most {} connections", poolName, maximumPoolSize);
+        return pool;
+    }
+
+    /**
+     * Closes the connection pools on shutdown. The data source bean may be a
+     * limiter or routing proxy without a close method of its own, so the pools
+     * are not closed along with it.
+     */
+    @PreDestroy
+    public void closePools() {
+        pools.forEach(pool -> {
+            log.info("Closing '{}' pool", pool.getPoolName());
+            pool.close();
+        });
+    }
+
+    /**
+     * Fronts a pool with a concurrency limiter when virtual threads are enabled.
+     *
+     * @param pool The connection pool
+     * @param maxConcurrency The maximum number of concurrently borrowed connections
+     * @return The pool, limited if running on virtual threads
+     */
+    private DataSource limitConcurrency(HikariDataSource pool, int maxConcurrency) {
+        if (!environment.getProperty(VIRTUAL_THREADS_PROPERTY, Boolean.class, false)) {
+            return pool;
+        }
+        long acquireTimeoutMs = environment.getProperty("database.acquire-timeout-ms", Long.class, 30000L);
+        log.info("Virtual threads enabled, limiting '{}' concurrency to {} connections",
+                pool.getPoolName(), maxConcurrency);
+        return new ConcurrencyLimitingDataSource(pool, maxConcurrency, acquireTimeoutMs);
     }
 
     /**
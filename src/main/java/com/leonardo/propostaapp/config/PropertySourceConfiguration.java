@@ -11,17 +11,18 @@ import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
 
 /**
- * Configures a high-priority property source to ensure application-specific
- * database settings override any conflicting environment variables.
+ * Registers the local development database settings as lowest-priority
+ * defaults, so application properties, environment variables and command-line
+ * arguments can point the primary and replica pools at other instances.
+ * Non-PostgreSQL URLs are still rejected by {@link DatabaseConfiguration}.
  */
 @Configuration
 public class PropertySourceConfiguration {
 
-    private static final String HIGH_PRIORITY_PROPERTIES = "highPriorityProperties";
+    private static final String DEFAULT_PROPERTIES = "databaseDefaultProperties";
 
     /**
-     * Creates a property source with higher priority than environment variables
-     * to enforce PostgreSQL configuration.
+     * Adds the default database settings after all other property sources.
      *
      * @param environment Spring environment
      * @return The configured environment
@@ -31,18 +32,16 @@ public class PropertySourceConfiguration {
     public ConfigurableEnvironment configurableEnvironment(ConfigurableEnvironment environment) {
         MutablePropertySources propertySources = environment.getPropertySources();
 
-        Map<String, Object> highPriorityProperties = new HashMap<>();
+        Map<String, Object> defaultProperties = new HashMap<>();
 
-        // Force PostgreSQL configuration
-        highPriorityProperties.put("spring.datasource.url",
-                "jdbc:postgresql://localhost:5432/proposal-app");
-        highPriorityProperties.put("spring.datasource.driver-class-name",
+        defaultProperties.put("spring.datasource.url",
+                "jdbc:postgresql://localhost:5432/proposal-app?reWriteBatchedInserts=true");
+        defaultProperties.put("spring.datasource.driver-class-name",
                 "org.postgresql.Driver");
-        highPriorityProperties.put("spring.datasource.username", "myuser");
-        highPriorityProperties.put("spring.datasource.password", "secret");
+        defaultProperties.put("spring.datasource.username", "myuser");
+        defaultProperties.put("spring.datasource.password", "secret");
 
-        // Add the property source with highest priority
-        propertySources.addFirst(new MapPropertySource(HIGH_PRIORITY_PROPERTIES, highPriorityProperties));
+        propertySources.addLast(new MapPropertySource(DEFAULT_PROPERTIES, defaultProperties));
 
         return environment;
     }
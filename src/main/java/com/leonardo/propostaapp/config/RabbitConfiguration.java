@@ -1,17 +1,26 @@
 package com.leonardo.propostaapp.config;
 
+import com.leonardo.propostaapp.messaging.ProposalBinaryMessageConverter;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.ExchangeBuilder;
 import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
@@ -31,15 +40,35 @@ public class RabbitConfiguration {
     private static final String COMPLETED_PROPOSAL_QUEUE = "completed-proposal.ms-proposal";
     private static final String COMPLETED_PROPOSAL_NOTIFICATION_QUEUE = "completed-proposal.ms-notification";
 
+    private static final String COMPLETED_PROPOSAL_WEBSOCKET_QUEUE_PREFIX = "completed-proposal.ms-proposal.websocket.";
+
     // Exchange names
     private static final String PENDING_PROPOSAL_DLX = "pending-proposal-dlx.ex";
 
+    // Message formats
+    private static final String BINARY_MESSAGE_FORMAT = "binary";
+
+    @Value("${rabbitmq.message-format:json}")
+    private String messageFormat;
+
     @Value("${rabbitmq.pending-proposal.exchange}")
     private String pendingProposalExchange;
 
     @Value("${rabbitmq.completed-proposal.exchange}")
     private String completedProposalExchange;
 
+    @Value("${rabbitmq.proposal-cache-invalidation.exchange:proposal-cache-invalidation.ex}")
+    private String proposalCacheInvalidationExchange;
+
+    @Value("${rabbitmq.proposal-decision-stored.exchange:proposal-decision-stored.ex}")
+    private String proposalDecisionStoredExchange;
+
+    @Value("${rabbitmq.listener.completed-proposal.batch-size:50}")
+    private int completedProposalBatchSize;
+
+    @Value("${rabbitmq.listener.completed-proposal.receive-timeout-ms:100}")
+    private long completedProposalReceiveTimeoutMs;
+
     /**
      * Queue configuration section
      */
@@ -89,6 +118,27 @@ public class RabbitConfiguration {
         return QueueBuilder.durable(COMPLETED_PROPOSAL_NOTIFICATION_QUEUE).build();
     }
 
+    /**
+     * Creates this instance's exclusive, auto-delete queue for proposal cache
+     * invalidations.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "proposal.cache.distributed-invalidation.enabled", havingValue = "true")
+    Queue createProposalCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    /**
+     * Creates this instance's exclusive, auto-delete queue receiving a copy of
+     * every stored decision, used only for client delivery in cluster fan-out
+     * mode.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "websocket.cluster-fanout.enabled", havingValue = "true")
+    Queue createCompletedProposalWebSocketQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(COMPLETED_PROPOSAL_WEBSOCKET_QUEUE_PREFIX));
+    }
+
     /**
      * Exchange configuration section
      */
@@ -117,6 +167,25 @@ public class RabbitConfiguration {
         return ExchangeBuilder.fanoutExchange(completedProposalExchange).build();
     }
 
+    /**
+     * Creates a fanout exchange for proposal cache invalidations.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "proposal.cache.distributed-invalidation.enabled", havingValue = "true")
+    FanoutExchange createFanoutExchangeProposalCacheInvalidation() {
+        return ExchangeBuilder.fanoutExchange(proposalCacheInvalidationExchange).build();
+    }
+
+    /**
+     * Creates a fanout exchange for decisions stored by the persisting
+     * instance in cluster fan-out mode.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "websocket.cluster-fanout.enabled", havingValue = "true")
+    FanoutExchange createFanoutExchangeProposalDecisionStored() {
+        return ExchangeBuilder.fanoutExchange(proposalDecisionStoredExchange).build();
+    }
+
     /**
      * Binding configuration section
      */
@@ -168,6 +237,28 @@ public class RabbitConfiguration {
                 .to(createFanoutExchangeCompletedProposal());
     }
 
+    /**
+     * Binds this instance's WebSocket delivery queue to the stored decision
+     * exchange.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "websocket.cluster-fanout.enabled", havingValue = "true")
+    Binding createBindingCompletedProposalWebSocket() {
+        return BindingBuilder.bind(createCompletedProposalWebSocketQueue())
+                .to(createFanoutExchangeProposalDecisionStored());
+    }
+
+    /**
+     * Binds this instance's cache invalidation queue to the cache invalidation
+     * exchange.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "proposal.cache.distributed-invalidation.enabled", havingValue = "true")
+    Binding createBindingProposalCacheInvalidation() {
+        return BindingBuilder.bind(createProposalCacheInvalidationQueue())
+                .to(createFanoutExchangeProposalCacheInvalidation());
+    }
+
     /**
      * RabbitMQ infrastructure configuration section
      */
@@ -189,21 +280,51 @@ public class RabbitConfiguration {
     }
 
     /**
-     * Creates a Jackson-based message converter for converting objects to/from
-     * JSON.
+     * Creates the message converter for proposal messages. Incoming messages
+     * are decoded according to their content type, so JSON and binary
+     * producers can coexist; outgoing proposals are written in the configured
+     * format and everything else as JSON.
      */
     @Bean
-    MessageConverter jackson2JsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    MessageConverter proposalMessageConverter() {
+        var json = new Jackson2JsonMessageConverter();
+        var binary = new ProposalBinaryMessageConverter(json);
+        var converter = new ContentTypeDelegatingMessageConverter(
+                BINARY_MESSAGE_FORMAT.equals(messageFormat) ? binary : json);
+        converter.addDelegate(MessageProperties.CONTENT_TYPE_JSON, json);
+        converter.addDelegate(ProposalBinaryMessageConverter.CONTENT_TYPE, binary);
+        return converter;
     }
 
     /**
-     * Creates a RabbitTemplate with our custom message converter.
+     * Creates a RabbitTemplate with our custom message converter. Messages are
+     * published as mandatory, so unroutable messages are returned to the
+     * correlation data of their publisher confirm.
      */
     @Bean
     RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
-        rabbitTemplate.setMessageConverter(jackson2JsonMessageConverter());
+        rabbitTemplate.setMessageConverter(proposalMessageConverter());
+        rabbitTemplate.setMandatory(true);
         return rabbitTemplate;
     }
+
+    /**
+     * Creates the listener container factory for completed proposals. Consumes
+     * messages in batches of up to the configured size, waiting at most the
+     * receive timeout to fill a batch, on top of the Boot listener settings
+     * (including the virtual-thread task executor when virtual threads are
+     * enabled).
+     */
+    @Bean
+    SimpleRabbitListenerContainerFactory completedProposalContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(completedProposalBatchSize);
+        factory.setReceiveTimeout(completedProposalReceiveTimeoutMs);
+        return factory;
+    }
 }
@@ -1,24 +1,52 @@
 package com.leonardo.propostaapp.config;
 
+import com.leonardo.propostaapp.websocket.IndexedSubscriptionRegistry;
+import com.leonardo.propostaapp.websocket.ProposalSubscriptionInterceptor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import lombok.RequiredArgsConstructor;
 
 /**
  * Configuration for WebSocket communication. Sets up STOMP endpoints and
- * message broker for real-time communication.
+ * message broker for real-time communication. Clients subscribe to
+ * {@code /proposals/{id}} for the proposals they follow, presenting the
+ * proposal's subscription token.
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer {
 
     private static final String WEBSOCKET_ENDPOINT = "/ws";
     private static final String PROPOSALS_TOPIC = "/proposals";
     private static final String FRONTEND_ORIGIN = "http://localhost:3000";
 
+    private final ProposalSubscriptionInterceptor proposalSubscriptionInterceptor;
+
+    @Value("${websocket.session.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.session.send-buffer-size-limit-bytes:262144}")
+    private int sendBufferSizeLimitBytes;
+
+    @Value("${websocket.outbound.pool-size:8}")
+    private int outboundPoolSize;
+
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
     /**
      * Registers STOMP endpoints for WebSocket communication.
      * 
@@ -41,4 +69,61 @@ public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer
         registry.setApplicationDestinationPrefixes("/app");
         registry.enableSimpleBroker(PROPOSALS_TOPIC);
     }
+
+    /**
+     * Limits how long a send to one session may take and how much may be
+     * buffered for it. Sessions exceeding either limit are closed, so a stuck
+     * client cannot pile up messages.
+     * 
+     * @param registry The WebSocket transport registration
+     */
+    @Override
+    public void configureWebSocketTransport(@NonNull WebSocketTransportRegistration registry) {
+        registry.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimitBytes);
+    }
+
+    /**
+     * Checks every frame sent by clients, so a session can only subscribe to
+     * the proposals it holds a token for.
+     * 
+     * @param registration The inbound channel registration
+     */
+    @Override
+    public void configureClientInboundChannel(@NonNull ChannelRegistration registration) {
+        registration.interceptors(proposalSubscriptionInterceptor);
+    }
+
+    /**
+     * Bounds the executor delivering broker messages to client sessions.
+     * 
+     * @param registration The outbound channel registration
+     */
+    @Override
+    public void configureClientOutboundChannel(@NonNull ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+    /**
+     * Replaces the simple broker's subscription registry with one indexed by
+     * destination, so each proposal update is matched only against the
+     * sessions subscribed to that proposal.
+     *
+     * @return The post processor configuring the simple broker
+     */
+    @Bean
+    static BeanPostProcessor indexedSubscriptionRegistryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof SimpleBrokerMessageHandler handler) {
+                    handler.setSubscriptionRegistry(new IndexedSubscriptionRegistry());
+                }
+                return bean;
+            }
+        };
+    }
 }
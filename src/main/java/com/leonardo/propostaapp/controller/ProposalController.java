@@ -1,11 +1,30 @@
 package com.leonardo.propostaapp.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+import com.leonardo.propostaapp.dto.ProposalBatchResponse;
+import com.leonardo.propostaapp.dto.ProposalExportRequest;
+import com.leonardo.propostaapp.dto.ProposalPageResponse;
 import com.leonardo.propostaapp.dto.ProposalRequest;
 import com.leonardo.propostaapp.dto.ProposalResponse;
+import com.leonardo.propostaapp.dto.RenderedProposal;
+import com.leonardo.propostaapp.mapper.ProposalResponseMapper;
+import com.leonardo.propostaapp.mapper.ProposalResponseRenderer;
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
+import com.leonardo.propostaapp.service.ProposalBatchService;
+import com.leonardo.propostaapp.service.ProposalDecisionWaiters;
+import com.leonardo.propostaapp.service.ProposalExportService;
+import com.leonardo.propostaapp.service.ProposalGroupCommitter;
 import com.leonardo.propostaapp.service.ProposalService;
+import com.leonardo.propostaapp.websocket.ProposalSubscriptionTokens;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,7 +32,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -34,9 +57,23 @@ import lombok.RequiredArgsConstructor;
 @Tag(name = "Proposals", description = "APIs for managing financial proposals")
 @Validated
 public class ProposalController {
+        private static final byte NEWLINE = '\n';
+        private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+        private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
         private final ProposalService proposalService;
+        private final ProposalBatchService proposalBatchService;
+        private final ObjectProvider<ProposalGroupCommitter> proposalGroupCommitter;
+        private final ProposalMetrics proposalMetrics;
+        private final ProposalResponseMapper proposalResponseMapper;
+        private final ProposalResponseRenderer proposalResponseRenderer;
+        private final ProposalDecisionWaiters proposalDecisionWaiters;
+        private final ProposalExportService proposalExportService;
+        private final ProposalSubscriptionTokens proposalSubscriptionTokens;
 
-        @Operation(summary = "Create a new proposal", description = "Creates a new proposal with user information")
+        @Operation(summary = "Create a new proposal", description = "Creates a new proposal with user information. "
+                        + "The Proposal-Subscription-Token response header authorizes a WebSocket subscription "
+                        + "to /proposals/{id}")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "201", description = "Proposal created successfully",
                                         content = @Content(schema = @Schema(implementation = ProposalResponse.class))),
@@ -46,34 +83,153 @@ public class ProposalController {
         @PostMapping
         public ResponseEntity<ProposalResponse> createProposal(@Valid @RequestBody ProposalRequest proposalRequest,
                         UriComponentsBuilder uriBuilder) {
-                var proposal = proposalService.createProposal(proposalRequest);
-                var responseDTO = new ProposalResponse(proposal);
+                var groupCommitter = proposalGroupCommitter.getIfAvailable();
+                var proposal = proposalMetrics.timeCreateProposal(() -> groupCommitter != null
+                                ? groupCommitter.createProposal(proposalRequest)
+                                : proposalService.createProposal(proposalRequest));
+                var responseDTO = proposalResponseMapper.toResponse(proposal);
                 var uri = uriBuilder.path("/v1/proposals/{id}").buildAndExpand(proposal.getId()).toUri();
-                return ResponseEntity.created(uri).body(responseDTO);
+                return ResponseEntity.created(uri)
+                                .header(ProposalSubscriptionTokens.HEADER, proposalSubscriptionTokens.issue(proposal.getId()))
+                                .body(responseDTO);
+        }
+
+        @Operation(summary = "Create proposals in bulk", description = "Creates a batch of proposals sent as a "
+                        + "JSON array, validating each item and reporting the outcome per item")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+                        @ApiResponse(responseCode = "400", description = "Body is not a well-formed JSON array"),
+                        @ApiResponse(responseCode = "413", description = "Batch larger than the allowed size"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+        public ResponseEntity<ProposalBatchResponse> createProposals(InputStream body) throws IOException {
+                return ResponseEntity.ok(proposalBatchService.submitJson(body));
+        }
+
+        @Operation(summary = "Create proposals in bulk from NDJSON", description = "Creates a batch of proposals sent "
+                        + "as newline-delimited JSON, validating each line and reporting the outcome per line")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+                        @ApiResponse(responseCode = "413", description = "Batch larger than the allowed size"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+        public ResponseEntity<ProposalBatchResponse> createProposalsFromNdjson(InputStream body) throws IOException {
+                return ResponseEntity.ok(proposalBatchService.submitNdjson(body));
+        }
+
+        @Operation(summary = "Get proposals", description = "Returns a page of proposals ordered by ID, "
+                        + "starting after the given cursor. The page carries an ETag; send it in If-None-Match "
+                        + "to get 304 while none of its proposals changed")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Page of proposals retrieved successfully"),
+                        @ApiResponse(responseCode = "304", description = "Page not modified"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+        public ResponseEntity<ProposalPageResponse> getAllProposals(
+                        @RequestParam(defaultValue = "0") long afterId,
+                        @RequestParam(defaultValue = "50") int limit,
+                        WebRequest request) {
+                // The ETag is read before the page, so the page is never older than its ETag.
+                var eTag = proposalService.getProposalPageETag(afterId, limit);
+                if (request.checkNotModified(eTag)) {
+                        return null;
+                }
+                var page = proposalService.getProposalPage(afterId, limit);
+                return ResponseEntity.ok().eTag(eTag).body(page);
+        }
+
+        @Operation(summary = "Stream all proposals",
+                        description = "Streams every proposal as newline-delimited JSON, one proposal per line")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Proposals streamed successfully"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+        public ResponseEntity<StreamingResponseBody> streamAllProposals() {
+                StreamingResponseBody body = outputStream -> proposalService.streamProposals(proposal -> {
+                        try {
+                                outputStream.write(proposalResponseRenderer.render(proposal).json());
+                                outputStream.write(NEWLINE);
+                        } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                        }
+                });
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
         }
 
-        @Operation(summary = "Get all proposals", description = "Returns all proposals in the system")
+        @Operation(summary = "Export proposals as CSV", description = "Streams proposals joined with their users "
+                        + "as CSV straight from the database, ordered by ID, with the selected columns and "
+                        + "optional filters, optionally gzip-compressed")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "200", description = "List of proposals retrieved successfully"),
+                        @ApiResponse(responseCode = "200", description = "Proposals exported successfully"),
+                        @ApiResponse(responseCode = "400", description = "Unknown export column"),
                         @ApiResponse(responseCode = "500", description = "Internal server error")
         })
-        @GetMapping
-        public ResponseEntity<List<ProposalResponse>> getAllProposals() {
-                var proposals = proposalService.getProposals();
-                return ResponseEntity.ok(proposals);
+        @GetMapping(path = "/export")
+        public ResponseEntity<StreamingResponseBody> exportProposals(
+                        @RequestParam(required = false) List<String> columns,
+                        @RequestParam(required = false) Boolean approved,
+                        @RequestParam(required = false) Boolean integrated,
+                        @RequestParam(defaultValue = "false") boolean gzip) {
+                var request = new ProposalExportRequest(columns, approved, integrated);
+                StreamingResponseBody body = outputStream -> proposalExportService.export(request, outputStream, gzip);
+                var fileName = gzip ? "proposals.csv.gz" : "proposals.csv";
+                return ResponseEntity.ok()
+                                .contentType(gzip ? APPLICATION_GZIP : TEXT_CSV)
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                ContentDisposition.attachment().filename(fileName).build().toString())
+                                .body(body);
         }
 
-        @Operation(summary = "Get a specific proposal", description = "Returns a proposal by its ID")
+        @Operation(summary = "Get a specific proposal", description = "Returns a proposal by its ID. The response "
+                        + "carries an ETag; send it in If-None-Match to get 304 while the proposal is unchanged")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Proposal retrieved successfully",
                                         content = @Content(schema = @Schema(implementation = ProposalResponse.class))),
+                        @ApiResponse(responseCode = "304", description = "Proposal not modified"),
                         @ApiResponse(responseCode = "404", description = "Proposal not found"),
                         @ApiResponse(responseCode = "500", description = "Internal server error")
         })
-        @GetMapping("/{id}")
-        public ResponseEntity<ProposalResponse> getProposalById(@PathVariable Long id) {
-                return proposalService.getProposalById(id)
-                                .map(proposal -> ResponseEntity.ok(new ProposalResponse(proposal)))
-                                .orElse(ResponseEntity.notFound().build());
+        @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+        public ResponseEntity<byte[]> getProposalById(@PathVariable Long id, WebRequest request) {
+                RenderedProposal rendered;
+                if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                        long version = proposalService.getProposalVersion(id);
+                        if (request.checkNotModified(proposalETag(version))) {
+                                return null;
+                        }
+                        rendered = proposalService.getProposalById(id, version);
+                } else {
+                        rendered = proposalService.getProposalById(id);
+                }
+                var response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+                // Responses of unknown version carry no ETag rather than one that may not match the body.
+                if (rendered.version() != null) {
+                        response.eTag(proposalETag(rendered.version()));
+                }
+                return response.body(rendered.json());
+        }
+
+        @Operation(summary = "Wait for a proposal decision", description = "Long-polls for the credit decision "
+                        + "of a proposal. Returns as soon as the proposal is approved or denied, or with its "
+                        + "current state once the wait elapses")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Proposal decided, or still pending "
+                                        + "after the wait",
+                                        content = @Content(schema = @Schema(implementation = ProposalResponse.class))),
+                        @ApiResponse(responseCode = "404", description = "Proposal not found"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        @GetMapping(path = "/{id}/decision", produces = MediaType.APPLICATION_JSON_VALUE)
+        public DeferredResult<byte[]> awaitProposalDecision(@PathVariable Long id,
+                        @RequestParam(defaultValue = "30") long waitSeconds) {
+                return proposalDecisionWaiters.awaitDecision(id, waitSeconds);
+        }
+
+        private static String proposalETag(long version) {
+                return "\"" + version + "\"";
         }
 }
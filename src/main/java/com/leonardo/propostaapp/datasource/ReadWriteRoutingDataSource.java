@@ -0,0 +1,103 @@
+package com.leonardo.propostaapp.datasource;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource routing read-only transactions to a replica and everything else
+ * to the primary. While the replica is marked unavailable, for example because
+ * its replication lag is too high, read-only work falls back to the primary.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the connection is only fetched once the transaction's read-only flag is
+ * set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /** Routing key of the primary data source. */
+    public static final String PRIMARY = "primary";
+
+    /** Routing key of the replica data source. */
+    public static final String REPLICA = "replica";
+
+    private final DataSource replica;
+    private final AtomicLong replicaRoutes = new AtomicLong();
+    private final AtomicLong fallbackRoutes = new AtomicLong();
+    private volatile boolean replicaAvailable = true;
+
+    /**
+     * Creates a router between a primary and a replica.
+     *
+     * @param primary The primary data source, for writes and fallback reads
+     * @param replica The replica data source, for read-only transactions
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        this.replica = replica;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (!replicaAvailable) {
+            fallbackRoutes.incrementAndGet();
+            return PRIMARY;
+        }
+        replicaRoutes.incrementAndGet();
+        return REPLICA;
+    }
+
+    /**
+     * Marks the replica as available for read-only transactions or not.
+     *
+     * @param available Whether read-only transactions may use the replica
+     */
+    public void setReplicaAvailable(boolean available) {
+        this.replicaAvailable = available;
+    }
+
+    /**
+     * Tells whether read-only transactions currently use the replica.
+     *
+     * @return Whether the replica is available
+     */
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    /**
+     * Returns the replica data source, for health and lag checks.
+     *
+     * @return The replica data source
+     */
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * Returns the number of connections routed to the replica.
+     *
+     * @return The replica route count
+     */
+    public long getReplicaRouteCount() {
+        return replicaRoutes.get();
+    }
+
+    /**
+     * Returns the number of read-only connections sent to the primary because
+     * the replica was unavailable.
+     *
+     * @return The fallback route count
+     */
+    public long getFallbackRouteCount() {
+        return fallbackRoutes.get();
+    }
+}
@@ -0,0 +1,35 @@
+package com.leonardo.propostaapp.datasource;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+
+/**
+ * Condition matching when a read replica is configured, that is when
+ * {@code database.replica.url} is set to a non-blank value. The data source
+ * configuration uses the same check, so an empty value means "no replica"
+ * everywhere.
+ */
+public class ReplicaConfiguredCondition implements Condition {
+
+    /** Property holding the JDBC URL of the read replica. */
+    public static final String REPLICA_URL_PROPERTY = "database.replica.url";
+
+    @Override
+    public boolean matches(@NonNull ConditionContext context, @NonNull AnnotatedTypeMetadata metadata) {
+        return isReplicaConfigured(context.getEnvironment());
+    }
+
+    /**
+     * Checks whether a read replica is configured.
+     *
+     * @param properties The properties to read the replica URL from
+     * @return true if the replica URL is set and not blank
+     */
+    public static boolean isReplicaConfigured(PropertyResolver properties) {
+        return StringUtils.hasText(properties.getProperty(REPLICA_URL_PROPERTY));
+    }
+}
@@ -0,0 +1,112 @@
+package com.leonardo.propostaapp.datasource;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically measures the replication lag of the read replica and takes the
+ * replica out of rotation while the lag exceeds the configured maximum, the
+ * replica is not streaming from the primary or it cannot be reached.
+ * Read-only transactions then run on the primary until the replica catches up.
+ */
+@Component
+@Slf4j
+@Conditional(ReplicaConfiguredCondition.class)
+public class ReplicaLagMonitor {
+
+    /**
+     * Replay lag in milliseconds, or null while the WAL receiver is not
+     * streaming. A streaming replica that has replayed everything it received
+     * reports no lag, even if the primary has been idle for a while; without a
+     * streaming receiver the replica cannot tell how far behind it is. The
+     * receiver status is only visible to roles with pg_read_all_stats, so for
+     * other roles a running receiver counts as streaming.
+     */
+    static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver "
+            + "WHERE COALESCE(status, 'streaming') = 'streaming') THEN NULL "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMs;
+    private final AtomicLong lastLagMs = new AtomicLong();
+
+    public ReplicaLagMonitor(DataSource dataSource,
+            @Value("${database.replica.max-lag-ms:5000}") long maxLagMs,
+            ObjectProvider<MeterRegistry> meterRegistry) throws SQLException {
+        this.routingDataSource = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        this.replicaJdbcTemplate = new JdbcTemplate(routingDataSource.getReplica());
+        this.replicaJdbcTemplate.setQueryTimeout(1);
+        this.maxLagMs = maxLagMs;
+        meterRegistry.ifAvailable(this::bindMetrics);
+    }
+
+    /**
+     * Measures the replica lag and updates the routing accordingly.
+     */
+    @Scheduled(fixedDelayString = "${database.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        Number lag;
+        try {
+            lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Number.class);
+        } catch (DataAccessException e) {
+            updateAvailability(false, "unreachable: " + e.getMessage());
+            return;
+        }
+        if (lag == null) {
+            updateAvailability(false, "WAL receiver not streaming");
+            return;
+        }
+        long lagMs = lag.longValue();
+        lastLagMs.set(lagMs);
+        updateAvailability(lagMs <= maxLagMs, "lag " + lagMs + " ms");
+    }
+
+    private void updateAvailability(boolean available, String reason) {
+        if (routingDataSource.isReplicaAvailable() != available) {
+            if (available) {
+                log.info("Replica back in rotation ({})", reason);
+            } else {
+                log.warn("Replica taken out of rotation, reads fall back to the primary ({})", reason);
+            }
+        }
+        routingDataSource.setReplicaAvailable(available);
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        Gauge.builder("database.replica.lag", lastLagMs, AtomicLong::get)
+                .description("Last measured replication lag of the read replica, in milliseconds")
+                .register(registry);
+        Gauge.builder("database.replica.available", routingDataSource, ds -> ds.isReplicaAvailable() ? 1 : 0)
+                .description("Whether read-only transactions are routed to the replica")
+                .register(registry);
+        FunctionCounter.builder("database.routing.reads", routingDataSource,
+                        ReadWriteRoutingDataSource::getReplicaRouteCount)
+                .tag("target", "replica")
+                .description("Read-only connections by routing target")
+                .register(registry);
+        FunctionCounter.builder("database.routing.reads", routingDataSource,
+                        ReadWriteRoutingDataSource::getFallbackRouteCount)
+                .tag("target", "primary_fallback")
+                .description("Read-only connections by routing target")
+                .register(registry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.leonardo.propostaapp.dto;
+
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO for the outcome of one item of a batch proposal submission.
+ */
+@Schema(description = "Outcome of one proposal of a batch submission")
+public record ProposalBatchItemResult(
+        @Schema(description = "Zero-based position of the item in the submitted batch", example = "0") int index,
+
+        @Schema(description = "ID of the created proposal, null if the item was rejected", example = "1") Long id,
+
+        @Schema(description = "Token authorizing a WebSocket subscription to /proposals/{id}, "
+                + "null if the item was rejected")
+        String subscriptionToken,
+
+        @Schema(description = "Validation errors by field, empty if the item was accepted")
+        Map<String, String> errors) {
+
+    /**
+     * Builds the result of an accepted item.
+     *
+     * @param index The item position
+     * @param id The created proposal ID
+     * @param subscriptionToken The subscription token of the proposal
+     * @return The item result
+     */
+    public static ProposalBatchItemResult created(int index, Long id, String subscriptionToken) {
+        return new ProposalBatchItemResult(index, id, subscriptionToken, Map.of());
+    }
+
+    /**
+     * Builds the result of a rejected item.
+     *
+     * @param index The item position
+     * @param errors The validation errors by field
+     * @return The item result
+     */
+    public static ProposalBatchItemResult rejected(int index, Map<String, String> errors) {
+        return new ProposalBatchItemResult(index, null, null, errors);
+    }
+}
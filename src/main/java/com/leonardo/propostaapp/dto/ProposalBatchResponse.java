@@ -0,0 +1,17 @@
+package com.leonardo.propostaapp.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO for the result of a batch proposal submission.
+ */
+@Schema(description = "Represents the per-item result of a batch proposal submission")
+public record ProposalBatchResponse(
+        @Schema(description = "Number of proposals created", example = "998") int created,
+
+        @Schema(description = "Number of items rejected by validation", example = "2") int rejected,
+
+        @Schema(description = "Result of each item, in submission order") List<ProposalBatchItemResult> items) {
+}
@@ -0,0 +1,39 @@
+package com.leonardo.propostaapp.dto;
+
+import java.util.List;
+
+import com.leonardo.propostaapp.exception.InvalidExportColumnException;
+
+/**
+ * Selection of a proposal export: the columns to write, in order, and the
+ * optional filters on the approval and integration status.
+ *
+ * @param columns The exported columns; all columns when {@code null} or empty
+ * @param approved Only proposals with this approval status, or {@code null} for all
+ * @param integrated Only proposals with this integration status, or {@code null} for all
+ */
+public record ProposalExportRequest(List<String> columns, Boolean approved, Boolean integrated) {
+
+    /** Columns that can be exported, in their default order. */
+    public static final List<String> COLUMNS = List.of("id", "createdAt", "proposalValue", "paymentTerm",
+            "approved", "integrated", "observation", "userId", "name", "lastName", "cpf", "phoneNumber",
+            "financialIncome");
+
+    /**
+     * Validates the columns against {@link #COLUMNS}.
+     *
+     * @throws InvalidExportColumnException if a column cannot be exported
+     */
+    public ProposalExportRequest {
+        if (columns == null || columns.isEmpty()) {
+            columns = COLUMNS;
+        }
+        columns.stream()
+                .filter(column -> !COLUMNS.contains(column))
+                .findFirst()
+                .ifPresent(column -> {
+                    throw new InvalidExportColumnException(column, COLUMNS);
+                });
+        columns = List.copyOf(columns);
+    }
+}
@@ -0,0 +1,75 @@
+package com.leonardo.propostaapp.dto;
+
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.entity.User;
+
+/**
+ * Flat wire representation of a proposal and its user, exchanged with the
+ * credit analysis and notification services. Decouples the binary message
+ * format from the shape of the JPA entities.
+ */
+public record ProposalMessage(
+        Long id,
+        Double proposalValue,
+        int paymentTerm,
+        Boolean approved,
+        boolean integrated,
+        String observation,
+        Long userId,
+        String name,
+        String lastName,
+        String cpf,
+        String phoneNumber,
+        Double financialIncome) {
+
+    /**
+     * Builds a message from a proposal entity.
+     *
+     * @param proposal The proposal, optionally with its user
+     * @return The proposal message
+     */
+    public static ProposalMessage from(Proposal proposal) {
+        User user = proposal.getUser();
+        return new ProposalMessage(
+                proposal.getId(),
+                proposal.getProposalValue(),
+                proposal.getPaymentTerm(),
+                proposal.getApproved(),
+                proposal.isIntegrated(),
+                proposal.getObservation(),
+                user == null ? null : user.getId(),
+                user == null ? null : user.getName(),
+                user == null ? null : user.getLastName(),
+                user == null ? null : user.getCpf(),
+                user == null ? null : user.getPhoneNumber(),
+                user == null ? null : user.getFinancialIncome());
+    }
+
+    /**
+     * Converts this message to a detached proposal entity, the same way JSON
+     * messages are deserialized.
+     *
+     * @return A new Proposal entity with its user
+     */
+    public Proposal toProposal() {
+        User user = User.builder()
+                .id(userId)
+                .name(name)
+                .lastName(lastName)
+                .cpf(cpf)
+                .phoneNumber(phoneNumber)
+                .financialIncome(financialIncome)
+                .build();
+        Proposal proposal = Proposal.builder()
+                .id(id)
+                .proposalValue(proposalValue)
+                .paymentTerm(paymentTerm)
+                .approved(approved)
+                .integrated(integrated)
+                .observation(observation)
+                .user(user)
+                .build();
+        user.setProposal(proposal);
+        return proposal;
+    }
+}
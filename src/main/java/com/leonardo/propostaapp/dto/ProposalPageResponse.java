@@ -0,0 +1,16 @@
+package com.leonardo.propostaapp.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO for a keyset-paginated page of proposals.
+ */
+@Schema(description = "Represents a page of proposals ordered by ID")
+public record ProposalPageResponse(
+        @Schema(description = "Proposals in this page") List<ProposalResponse> items,
+
+        @Schema(description = "Cursor to pass as 'afterId' to fetch the next page, null on the last page",
+                example = "150") Long nextCursor) {
+}
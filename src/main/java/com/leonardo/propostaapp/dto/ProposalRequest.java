@@ -34,7 +34,8 @@ public record ProposalRequest(
                                 message = "Payment term must be at least 1") int paymentTerm) {
 
         /**
-         * Converts this DTO to a Proposal entity.
+         * Converts this DTO to a Proposal entity. The proposal starts as not
+         * integrated until the outbox relay gets a broker confirm for it.
          *
          * @param user The user associated with this proposal
          * @return A new Proposal entity
@@ -44,7 +45,7 @@ public record ProposalRequest(
                                 .proposalValue(this.proposalValue())
                                 .paymentTerm(this.paymentTerm())
                                 .approved(null)
-                                .integrated(true)
+                                .integrated(false)
                                 .observation(null)
                                 .user(user)
                                 .build();
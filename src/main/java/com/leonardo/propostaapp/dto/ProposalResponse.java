@@ -1,17 +1,20 @@
 package com.leonardo.propostaapp.dto;
 
-import java.text.NumberFormat;
-
-import com.leonardo.propostaapp.entity.Proposal;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
  * DTO for proposal response data. Used for transferring proposal information
- * back to clients.
+ * back to clients. Built by {@code ProposalResponseMapper} and written by a
+ * hand-written serializer instead of reflective record serialization.
  */
+@JsonSerialize(using = ProposalResponseSerializer.class)
 @Schema(description = "Represents proposal data in responses")
 public record ProposalResponse(
+        @Schema(description = "Proposal ID, also used to subscribe to its updates at /proposals/{id}",
+                example = "1") Long id,
+
         @Schema(description = "User's first name (uppercase)", example = "JOHN") String name,
 
         @Schema(description = "User's last name (uppercase)", example = "DOE") String lastName,
@@ -29,22 +32,4 @@ public record ProposalResponse(
         @Schema(description = "Whether the proposal was approved") Boolean approved,
 
         @Schema(description = "Additional observations about the proposal") String observation) {
-
-    /**
-     * Constructs a response DTO from a Proposal entity.
-     *
-     * @param proposal The proposal entity
-     */
-    public ProposalResponse(Proposal proposal) {
-        this(
-                proposal.getUser().getName().toUpperCase(),
-                proposal.getUser().getLastName().toUpperCase(),
-                proposal.getUser().getPhoneNumber(),
-                proposal.getUser().getCpf(),
-                proposal.getUser().getFinancialIncome(),
-                NumberFormat.getCurrencyInstance().format(proposal.getProposalValue()),
-                proposal.getPaymentTerm(),
-                proposal.getApproved(),
-                proposal.getObservation());
-    }
 }
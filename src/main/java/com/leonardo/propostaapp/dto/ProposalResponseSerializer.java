@@ -0,0 +1,71 @@
+package com.leonardo.propostaapp.dto;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Hand-written Jackson serializer for {@link ProposalResponse}. Writes the
+ * fields straight to the generator with pre-encoded field names, avoiding
+ * reflective property access on every REST and WebSocket write.
+ */
+public class ProposalResponseSerializer extends StdSerializer<ProposalResponse> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+    private static final SerializableString PHONE_NUMBER = new SerializedString("phoneNumber");
+    private static final SerializableString CPF = new SerializedString("cpf");
+    private static final SerializableString FINANCIAL_INCOME = new SerializedString("financialIncome");
+    private static final SerializableString PROPOSAL_VALUE_FORMATTED = new SerializedString("proposalValueFormatted");
+    private static final SerializableString PAYMENT_TERM = new SerializedString("paymentTerm");
+    private static final SerializableString APPROVED = new SerializedString("approved");
+    private static final SerializableString OBSERVATION = new SerializedString("observation");
+
+    public ProposalResponseSerializer() {
+        super(ProposalResponse.class);
+    }
+
+    @Override
+    public void serialize(ProposalResponse value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(ID);
+        if (value.id() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.id());
+        }
+        writeString(gen, NAME, value.name());
+        writeString(gen, LAST_NAME, value.lastName());
+        writeString(gen, PHONE_NUMBER, value.phoneNumber());
+        writeString(gen, CPF, value.cpf());
+        gen.writeFieldName(FINANCIAL_INCOME);
+        if (value.financialIncome() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.financialIncome());
+        }
+        writeString(gen, PROPOSAL_VALUE_FORMATTED, value.proposalValueFormatted());
+        gen.writeFieldName(PAYMENT_TERM);
+        gen.writeNumber(value.paymentTerm());
+        gen.writeFieldName(APPROVED);
+        if (value.approved() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(value.approved());
+        }
+        writeString(gen, OBSERVATION, value.observation());
+        gen.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString fieldName, String value)
+            throws IOException {
+        gen.writeFieldName(fieldName);
+        gen.writeString(value);
+    }
+}
@@ -0,0 +1,11 @@
+package com.leonardo.propostaapp.dto;
+
+/**
+ * Version of a proposal, read without hydrating the entity or its user, for
+ * ETag checks.
+ *
+ * @param id The proposal ID
+ * @param version The proposal version
+ */
+public record ProposalVersion(Long id, long version) {
+}
@@ -0,0 +1,19 @@
+package com.leonardo.propostaapp.dto;
+
+/**
+ * Read-only projection of a proposal joined with its user. Built directly by
+ * JPQL constructor expressions so listing queries do not hydrate entities.
+ */
+public record ProposalView(
+        Long id,
+        String name,
+        String lastName,
+        String phoneNumber,
+        String cpf,
+        Double financialIncome,
+        Double proposalValue,
+        int paymentTerm,
+        Boolean approved,
+        String observation,
+        long version) {
+}
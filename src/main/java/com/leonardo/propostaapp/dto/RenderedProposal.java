@@ -0,0 +1,24 @@
+package com.leonardo.propostaapp.dto;
+
+/**
+ * A proposal response together with its serialized JSON, so the same bytes can
+ * be written to HTTP clients and WebSocket subscribers without serializing the
+ * response again.
+ *
+ * @param response The proposal response DTO
+ * @param json The UTF-8 JSON representation of the response
+ * @param version The version of the proposal the response was built from, or
+ *        {@code null} if unknown
+ */
+public record RenderedProposal(ProposalResponse response, byte[] json, Long version) {
+
+    /**
+     * Creates a rendered proposal of unknown version.
+     *
+     * @param response The proposal response DTO
+     * @param json The UTF-8 JSON representation of the response
+     */
+    public RenderedProposal(ProposalResponse response, byte[] json) {
+        this(response, json, null);
+    }
+}
@@ -0,0 +1,55 @@
+package com.leonardo.propostaapp.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity representing a proposal waiting to be published to RabbitMQ. Rows are
+ * written in the same transaction as the proposal and drained by the outbox
+ * relay, which retries failed rows with exponential backoff. The trace ID and
+ * creation time travel with the published message for lifecycle tracing.
+ */
+@Entity
+@Table(name = "proposal_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_proposal_outbox_proposal_id", columnNames = "proposal_id"),
+        indexes = @Index(name = "idx_proposal_outbox_next_attempt_at", columnList = "next_attempt_at"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "proposal_outbox_id_seq")
+    @SequenceGenerator(name = "proposal_outbox_id_seq", sequenceName = "proposal_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    private Long proposalId;
+
+    private String exchange;
+
+    private int priority;
+
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    private Instant createdAt;
+
+    @Column(length = 36)
+    private String traceId;
+}
@@ -1,14 +1,21 @@
 package com.leonardo.propostaapp.entity;
 
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -26,7 +33,8 @@ import lombok.Setter;
 @AllArgsConstructor
 public class Proposal {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "proposal_id_seq")
+    @SequenceGenerator(name = "proposal_id_seq", sequenceName = "proposal_id_seq", allocationSize = 50)
     private Long id;
 
     private Double proposalValue;
@@ -39,8 +47,24 @@ public class Proposal {
 
     private String observation;
 
+    /** Creation time, also the key the proposal table is partitioned by. */
+    @JsonIgnore
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /** Optimistic locking version, also the source of the proposal's ETag. */
+    @Version
+    private Long version;
+
     @OneToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "user_id")
     @JsonManagedReference
     private User user;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
 }
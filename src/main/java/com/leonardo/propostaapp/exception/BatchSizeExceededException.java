@@ -0,0 +1,16 @@
+package com.leonardo.propostaapp.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a batch submission holds more items than allowed.
+ */
+public class BatchSizeExceededException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public BatchSizeExceededException(int maxSize) {
+        super("Batch must not contain more than %d items".formatted(maxSize));
+    }
+}
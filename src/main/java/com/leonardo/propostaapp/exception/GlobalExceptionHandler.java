@@ -64,6 +64,60 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles batch submissions that exceed the maximum batch size.
+     * 
+     * @param ex The batch size exception
+     * @return A response entity with error details
+     */
+    @ExceptionHandler(BatchSizeExceededException.class)
+    public ResponseEntity<Object> handleBatchSizeExceededException(BatchSizeExceededException ex) {
+        ApiError apiError = ApiError.builder()
+                .status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        log.warn("Batch rejected: {}", ex.getMessage());
+        return new ResponseEntity<>(apiError, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    /**
+     * Handles batch submissions that are not a well-formed JSON array.
+     * 
+     * @param ex The malformed batch exception
+     * @return A response entity with error details
+     */
+    @ExceptionHandler(MalformedBatchException.class)
+    public ResponseEntity<Object> handleMalformedBatchException(MalformedBatchException ex) {
+        ApiError apiError = ApiError.builder()
+                .status(HttpStatus.BAD_REQUEST)
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        log.warn("Batch rejected: {}", ex.getMessage());
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles exports requesting unknown columns.
+     * 
+     * @param ex The invalid export column exception
+     * @return A response entity with error details
+     */
+    @ExceptionHandler(InvalidExportColumnException.class)
+    public ResponseEntity<Object> handleInvalidExportColumnException(InvalidExportColumnException ex) {
+        ApiError apiError = ApiError.builder()
+                .status(HttpStatus.BAD_REQUEST)
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        log.warn("Export rejected: {}", ex.getMessage());
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles messaging service exceptions.
      * 
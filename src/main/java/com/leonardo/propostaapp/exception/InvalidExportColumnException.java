@@ -0,0 +1,18 @@
+package com.leonardo.propostaapp.exception;
+
+import java.io.Serial;
+import java.util.Collection;
+
+/**
+ * Exception thrown when a proposal export requests a column that cannot be
+ * exported.
+ */
+public class InvalidExportColumnException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public InvalidExportColumnException(String column, Collection<String> allowed) {
+        super("Unknown export column '%s', expected one of %s".formatted(column, allowed));
+    }
+}
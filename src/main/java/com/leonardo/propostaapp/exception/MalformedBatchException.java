@@ -0,0 +1,17 @@
+package com.leonardo.propostaapp.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a batch submission is not a well-formed JSON array,
+ * so its items cannot be told apart.
+ */
+public class MalformedBatchException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public MalformedBatchException(String message) {
+        super(message);
+    }
+}
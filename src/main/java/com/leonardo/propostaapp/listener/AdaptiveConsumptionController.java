@@ -0,0 +1,207 @@
+package com.leonardo.propostaapp.listener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
+
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adjusts the consumption capacity of the completed-proposal listener to the
+ * load. Samples the queue depth through {@link RabbitAdmin} and the listener's
+ * utilisation from its batch timer, asks the {@link AdaptiveConsumptionPolicy}
+ * for the settings to run with, and applies them to the striped workers and to
+ * the listener container's batch size. Workers and batch size change from
+ * the next batch. The prefetch only reaches the broker when a consumer starts
+ * and a restart requeues every prefetched message, so it is only raised when
+ * a batch would outgrow it, never lowered, and at most once per restart
+ * interval; the restart runs on a thread of its own, away from the scheduled
+ * jobs. The container keeps a single consumer, so the per-proposal ordering of
+ * the striped workers is preserved. Every change is logged and counted, and
+ * the current settings are exposed as gauges.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "rabbitmq.listener.completed-proposal.adaptive.enabled", havingValue = "true")
+public class AdaptiveConsumptionController {
+
+    private final RabbitAdmin rabbitAdmin;
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final StripedBatchProcessor stripedBatchProcessor;
+    private final ProposalMetrics proposalMetrics;
+    private final AdaptiveConsumptionPolicy policy;
+    private final String queueName;
+    private final long prefetchRestartIntervalNanos;
+    private final ExecutorService restartExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("proposal-listener-restart").daemon().factory());
+    private final AtomicBoolean restartPending = new AtomicBoolean();
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong utilisationPermille = new AtomicLong();
+    private final Counter scaledUp;
+    private final Counter scaledDown;
+
+    private long lastSampleNanos;
+    private long lastBusyNanos;
+    private int appliedPrefetch;
+    private long lastRestartNanos;
+
+    public AdaptiveConsumptionController(RabbitAdmin rabbitAdmin, RabbitListenerEndpointRegistry listenerRegistry,
+            StripedBatchProcessor stripedBatchProcessor, ProposalMetrics proposalMetrics, MeterRegistry registry,
+            @Value("${rabbitmq.queue.completed.proposal}") String queueName,
+            @Value("${spring.rabbitmq.listener.simple.prefetch:250}") int prefetch,
+            @Value("${rabbitmq.listener.completed-proposal.adaptive.prefetch-restart-interval-ms:300000}")
+            long prefetchRestartIntervalMs,
+            @Value("${rabbitmq.listener.completed-proposal.adaptive.min-workers:1}") int minWorkers,
+            @Value("${rabbitmq.listener.completed-proposal.adaptive.max-workers:16}") int maxWorkers,
+            @Value("${rabbitmq.listener.completed-proposal.adaptive.min-batch-size:10}") int minBatchSize,
+            @Value("${rabbitmq.listener.completed-proposal.adaptive.max-batch-size:250}") int maxBatchSize,
+            @Value("${rabbitmq.listener.completed-proposal.adaptive.scale-up-depth:1000}") long scaleUpDepth,
+            @Value("${rabbitmq.listener.completed-proposal.adaptive.scale-down-depth:100}") long scaleDownDepth,
+            @Value("${rabbitmq.listener.completed-proposal.adaptive.scale-down-utilisation:0.3}")
+            double scaleDownUtilisation,
+            @Value("${rabbitmq.listener.completed-proposal.adaptive.scale-up-samples:2}") int scaleUpSamples,
+            @Value("${rabbitmq.listener.completed-proposal.adaptive.scale-down-samples:6}") int scaleDownSamples) {
+        this.rabbitAdmin = rabbitAdmin;
+        this.listenerRegistry = listenerRegistry;
+        this.stripedBatchProcessor = stripedBatchProcessor;
+        this.proposalMetrics = proposalMetrics;
+        this.queueName = queueName;
+        this.appliedPrefetch = prefetch;
+        this.prefetchRestartIntervalNanos = TimeUnit.MILLISECONDS.toNanos(prefetchRestartIntervalMs);
+        this.policy = new AdaptiveConsumptionPolicy(new AdaptiveConsumptionPolicy.Bounds(minWorkers, maxWorkers,
+                minBatchSize, maxBatchSize, scaleUpDepth, scaleDownDepth, scaleDownUtilisation,
+                scaleUpSamples, scaleDownSamples));
+
+        Gauge.builder("proposal.listener.workers", policy, p -> p.getCurrent().workers())
+                .description("Parallel workers of the completed-proposal listener")
+                .register(registry);
+        Gauge.builder("proposal.listener.batch.size", policy, p -> p.getCurrent().batchSize())
+                .description("Batch size of the completed-proposal listener")
+                .register(registry);
+        Gauge.builder("proposal.listener.queue.depth", queueDepth, AtomicLong::get)
+                .description("Messages ready in the completed-proposal queue at the last sample")
+                .register(registry);
+        Gauge.builder("proposal.listener.utilisation", utilisationPermille, value -> value.get() / 1000.0)
+                .description("Fraction of the last sample interval the listener was busy")
+                .register(registry);
+        this.scaledUp = scalingCounter(registry, "up");
+        this.scaledDown = scalingCounter(registry, "down");
+    }
+
+    @PreDestroy
+    void stop() {
+        restartExecutor.shutdownNow();
+    }
+
+    /**
+     * Applies the initial settings once the listener container exists.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void applyInitialSettings() {
+        apply(policy.getCurrent());
+        lastSampleNanos = System.nanoTime();
+        lastBusyNanos = proposalMetrics.getListenerBusyNanos();
+    }
+
+    /**
+     * Samples the queue depth and listener utilisation and applies the
+     * settings decided by the policy.
+     */
+    @Scheduled(fixedDelayString = "${rabbitmq.listener.completed-proposal.adaptive.sample-interval-ms:5000}")
+    public void sample() {
+        var queueInfo = rabbitAdmin.getQueueInfo(queueName);
+        if (queueInfo == null) {
+            log.warn("Queue {} not found, skipping consumption sample", queueName);
+            return;
+        }
+
+        long now = System.nanoTime();
+        long busy = proposalMetrics.getListenerBusyNanos();
+        double utilisation = lastSampleNanos == 0 ? 0
+                : Math.min(1.0, (busy - lastBusyNanos) / (double) Math.max(1, now - lastSampleNanos));
+        lastSampleNanos = now;
+        lastBusyNanos = busy;
+        queueDepth.set(queueInfo.getMessageCount());
+        utilisationPermille.set(Math.round(utilisation * 1000));
+
+        var previous = policy.getCurrent();
+        var next = policy.evaluate(queueInfo.getMessageCount(), utilisation);
+        if (next.equals(previous)) {
+            return;
+        }
+        (next.workers() > previous.workers() || next.batchSize() > previous.batchSize() ? scaledUp : scaledDown)
+                .increment();
+        log.info("Scaling completed-proposal listener from {} to {} (queue depth {}, utilisation {})",
+                previous, next, queueInfo.getMessageCount(), String.format("%.2f", utilisation));
+        apply(next);
+    }
+
+    private void apply(AdaptiveConsumptionPolicy.Settings settings) {
+        stripedBatchProcessor.setStripes(settings.workers());
+        if (listenerRegistry.getListenerContainer(CompletedProposalListener.LISTENER_ID)
+                instanceof SimpleMessageListenerContainer container) {
+            container.setBatchSize(settings.batchSize());
+            if (settings.batchSize() > appliedPrefetch) {
+                raisePrefetch(container, settings.batchSize());
+            }
+        }
+    }
+
+    /**
+     * Raises the prefetch so the consumer can fill the larger batches, and
+     * restarts the container on the restart thread so its consumer opens with
+     * it. A raise within the restart interval of the previous one, or while a
+     * restart is still running, is left to a later sample. Messages prefetched
+     * by the old consumer are requeued; processing is idempotent, so a
+     * redelivered decision is skipped or applied once.
+     */
+    private void raisePrefetch(SimpleMessageListenerContainer container, int prefetch) {
+        long now = System.nanoTime();
+        if (lastRestartNanos != 0 && now - lastRestartNanos < prefetchRestartIntervalNanos) {
+            return;
+        }
+        if (!restartPending.compareAndSet(false, true)) {
+            return;
+        }
+        lastRestartNanos = now;
+        appliedPrefetch = prefetch;
+        container.setPrefetchCount(prefetch);
+        log.info("Restarting completed-proposal listener with prefetch {}", prefetch);
+        restartExecutor.execute(() -> {
+            try {
+                if (container.isRunning()) {
+                    container.stop();
+                    container.start();
+                }
+            } finally {
+                restartPending.set(false);
+            }
+        });
+    }
+
+    private static Counter scalingCounter(MeterRegistry registry, String direction) {
+        return Counter.builder("proposal.listener.scaling")
+                .description("Capacity changes of the completed-proposal listener")
+                .tag("direction", direction)
+                .register(registry);
+    }
+}
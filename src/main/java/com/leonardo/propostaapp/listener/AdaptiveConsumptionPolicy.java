@@ -0,0 +1,97 @@
+package com.leonardo.propostaapp.listener;
+
+/**
+ * Decides how much consumption capacity the completed-proposal listener
+ * should run with, given samples of the queue depth and of the listener's
+ * utilisation. Capacity moves in steps, doubling or halving the number of
+ * workers and the batch size within their bounds. A change requires several
+ * consecutive samples on the same side of the thresholds, and the thresholds
+ * leave a dead band between scaling up and scaling down, so the setting does
+ * not flap under a steady load.
+ */
+public class AdaptiveConsumptionPolicy {
+
+    /**
+     * Consumption settings.
+     *
+     * @param workers The number of parallel workers
+     * @param batchSize The batch size, which is also the prefetch
+     */
+    public record Settings(int workers, int batchSize) {
+    }
+
+    /**
+     * Bounds and thresholds of the policy.
+     *
+     * @param minWorkers The minimum number of workers
+     * @param maxWorkers The maximum number of workers
+     * @param minBatchSize The minimum batch size
+     * @param maxBatchSize The maximum batch size
+     * @param scaleUpDepth The queue depth above which capacity is added
+     * @param scaleDownDepth The queue depth below which capacity may be removed
+     * @param scaleDownUtilisation The utilisation below which capacity may be removed
+     * @param scaleUpSamples The consecutive samples required to scale up
+     * @param scaleDownSamples The consecutive samples required to scale down
+     */
+    public record Bounds(int minWorkers, int maxWorkers, int minBatchSize, int maxBatchSize,
+            long scaleUpDepth, long scaleDownDepth, double scaleDownUtilisation,
+            int scaleUpSamples, int scaleDownSamples) {
+
+        public Bounds {
+            if (minWorkers < 1 || maxWorkers < minWorkers || minBatchSize < 1 || maxBatchSize < minBatchSize) {
+                throw new IllegalArgumentException("Invalid worker or batch size bounds");
+            }
+            if (scaleDownDepth >= scaleUpDepth) {
+                throw new IllegalArgumentException("Scale down depth must be below scale up depth");
+            }
+        }
+    }
+
+    private final Bounds bounds;
+    private Settings current;
+    private int aboveSamples;
+    private int belowSamples;
+
+    public AdaptiveConsumptionPolicy(Bounds bounds) {
+        this.bounds = bounds;
+        this.current = new Settings(bounds.minWorkers(), bounds.minBatchSize());
+    }
+
+    /**
+     * Takes a sample into account and returns the settings to run with.
+     *
+     * @param queueDepth The number of messages ready in the queue
+     * @param utilisation The fraction of the sample interval the listener was busy
+     * @return The settings, changed or not
+     */
+    public synchronized Settings evaluate(long queueDepth, double utilisation) {
+        if (queueDepth > bounds.scaleUpDepth()) {
+            belowSamples = 0;
+            if (++aboveSamples >= bounds.scaleUpSamples()) {
+                aboveSamples = 0;
+                current = new Settings(Math.min(current.workers() * 2, bounds.maxWorkers()),
+                        Math.min(current.batchSize() * 2, bounds.maxBatchSize()));
+            }
+        } else if (queueDepth < bounds.scaleDownDepth() && utilisation < bounds.scaleDownUtilisation()) {
+            aboveSamples = 0;
+            if (++belowSamples >= bounds.scaleDownSamples()) {
+                belowSamples = 0;
+                current = new Settings(Math.max(current.workers() / 2, bounds.minWorkers()),
+                        Math.max(current.batchSize() / 2, bounds.minBatchSize()));
+            }
+        } else {
+            aboveSamples = 0;
+            belowSamples = 0;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the current settings.
+     *
+     * @return The current settings
+     */
+    public synchronized Settings getCurrent() {
+        return current;
+    }
+}
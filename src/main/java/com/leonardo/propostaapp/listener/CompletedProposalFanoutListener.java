@@ -0,0 +1,106 @@
+package com.leonardo.propostaapp.listener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.mapper.ProposalResponseMapper;
+import com.leonardo.propostaapp.mapper.ProposalResponseRenderer;
+import com.leonardo.propostaapp.metrics.ProposalTrace;
+import com.leonardo.propostaapp.service.ProposalDecisionPublisher;
+import com.leonardo.propostaapp.service.ProposalDecisionWaiters;
+import com.leonardo.propostaapp.service.ProposalDecisionWindow;
+import com.leonardo.propostaapp.service.ProposalResponseCache;
+import com.leonardo.propostaapp.service.WebSocketDispatcher;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cluster fan-out listener for stored decisions. Persistence stays with the
+ * single-consumer {@link CompletedProposalListener}, which publishes each
+ * decision with its new version once it is committed. Every instance consumes
+ * its own copy from an exclusive, auto-delete queue and delivers it to the
+ * WebSocket clients and long-polling requests connected to this instance. The
+ * decision also replaces this instance's cached response, version included,
+ * so HTTP reads agree with the push without relying on distributed cache
+ * invalidation.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "websocket.cluster-fanout.enabled", havingValue = "true")
+public class CompletedProposalFanoutListener {
+
+    private final WebSocketDispatcher webSocketDispatcher;
+    private final ProposalResponseMapper proposalResponseMapper;
+    private final ProposalResponseRenderer proposalResponseRenderer;
+    private final ProposalResponseCache proposalResponseCache;
+    private final ProposalDecisionWaiters proposalDecisionWaiters;
+    private final ProposalDecisionWindow delivered;
+
+    public CompletedProposalFanoutListener(WebSocketDispatcher webSocketDispatcher,
+            ProposalResponseMapper proposalResponseMapper,
+            ProposalResponseRenderer proposalResponseRenderer,
+            ProposalResponseCache proposalResponseCache,
+            ProposalDecisionWaiters proposalDecisionWaiters,
+            @Value("${rabbitmq.listener.completed-proposal.dedup.max-size:100000}") long dedupMaxSize,
+            @Value("${rabbitmq.listener.completed-proposal.dedup.ttl-seconds:600}") long dedupTtlSeconds) {
+        this.webSocketDispatcher = webSocketDispatcher;
+        this.proposalResponseMapper = proposalResponseMapper;
+        this.proposalResponseRenderer = proposalResponseRenderer;
+        this.proposalResponseCache = proposalResponseCache;
+        this.proposalDecisionWaiters = proposalDecisionWaiters;
+        this.delivered = new ProposalDecisionWindow(dedupMaxSize, dedupTtlSeconds);
+    }
+
+    /**
+     * Receives this instance's copy of a batch of stored decisions and
+     * delivers the latest decision of each proposal to local clients and to
+     * the local response cache.
+     * Decisions already delivered by this instance, as on redelivery, are
+     * skipped. Delivery failures are logged and never retried, since the
+     * clients can read the stored state over HTTP.
+     *
+     * @param messages The completed proposal messages
+     */
+    @RabbitListener(queues = "#{createCompletedProposalWebSocketQueue.name}",
+            containerFactory = "completedProposalContainerFactory")
+    public void handleCompletedProposals(List<Message<Proposal>> messages) {
+        long receivedAt = System.currentTimeMillis();
+        Map<Long, Message<Proposal>> latest = new LinkedHashMap<>();
+        messages.forEach(message -> latest.put(message.getPayload().getId(), message));
+
+        int deliveredCount = 0;
+        for (Message<Proposal> message : latest.values()) {
+            Proposal proposal = message.getPayload();
+            if (delivered.isApplied(proposal)) {
+                continue;
+            }
+            try {
+                var rendered = proposalResponseRenderer.render(proposalResponseMapper.toResponse(proposal),
+                        version(message));
+                proposalResponseCache.put(proposal.getId(), rendered);
+                webSocketDispatcher.dispatch(rendered, ProposalTrace.fromHeaders(message.getHeaders(), receivedAt));
+                proposalDecisionWaiters.complete(rendered);
+                delivered.markApplied(List.of(proposal));
+                deliveredCount++;
+            } catch (Exception e) {
+                log.error("Error delivering fan-out notification for proposal {}: {}",
+                        proposal.getId(), e.getMessage(), e);
+            }
+        }
+        log.debug("Delivered {} of {} fan-out notifications", deliveredCount, messages.size());
+    }
+
+    private static Long version(Message<Proposal> message) {
+        return message.getHeaders().get(ProposalDecisionPublisher.VERSION_HEADER) instanceof Number version
+                ? version.longValue()
+                : null;
+    }
+}
@@ -1,57 +1,192 @@
 package com.leonardo.propostaapp.listener;
 
-import com.leonardo.propostaapp.dto.ProposalResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+
 import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.mapper.ProposalResponseMapper;
+import com.leonardo.propostaapp.mapper.ProposalResponseRenderer;
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
+import com.leonardo.propostaapp.metrics.ProposalTrace;
+import com.leonardo.propostaapp.service.ProposalDecisionPublisher;
+import com.leonardo.propostaapp.service.ProposalDecisionWaiters;
+import com.leonardo.propostaapp.service.ProposalDecisionWindow;
+import com.leonardo.propostaapp.service.ProposalResponseCache;
 import com.leonardo.propostaapp.service.ProposalService;
-import com.leonardo.propostaapp.service.WebSocketService;
+import com.leonardo.propostaapp.service.WebSocketDispatcher;
 
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Listener for completed proposal messages from RabbitMQ. Processes completed
- * proposals and sends notifications via WebSocket.
+ * proposals in batches, striped by proposal ID across parallel workers, and
+ * hands notifications to the WebSocket dispatch stage, so client delivery
+ * never blocks consumption. Clients long-polling for a decision are completed
+ * directly from here. In cluster fan-out mode, the stored decisions are
+ * published instead, and client delivery is left to the
+ * {@link CompletedProposalFanoutListener} of every instance.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class CompletedProposalListener {
 
+    /** ID of the completed-proposal listener container. */
+    public static final String LISTENER_ID = "completedProposalListener";
+
     private final ProposalService proposalService;
-    private final WebSocketService webSocketService;
+    private final WebSocketDispatcher webSocketDispatcher;
+    private final ProposalResponseMapper proposalResponseMapper;
+    private final ProposalResponseRenderer proposalResponseRenderer;
+    private final ProposalResponseCache proposalResponseCache;
+    private final ProposalMetrics proposalMetrics;
+    private final ProposalDecisionWindow proposalDecisionWindow;
+    private final StripedBatchProcessor stripedBatchProcessor;
+    private final ProposalDecisionWaiters proposalDecisionWaiters;
+    private final ProposalDecisionPublisher proposalDecisionPublisher;
+    private final boolean clusterFanout;
+
+    public CompletedProposalListener(ProposalService proposalService, WebSocketDispatcher webSocketDispatcher,
+            ProposalResponseMapper proposalResponseMapper, ProposalResponseRenderer proposalResponseRenderer,
+            ProposalResponseCache proposalResponseCache, ProposalMetrics proposalMetrics,
+            ProposalDecisionWindow proposalDecisionWindow, StripedBatchProcessor stripedBatchProcessor,
+            ProposalDecisionWaiters proposalDecisionWaiters, ProposalDecisionPublisher proposalDecisionPublisher,
+            @Value("${websocket.cluster-fanout.enabled:false}") boolean clusterFanout) {
+        this.proposalService = proposalService;
+        this.webSocketDispatcher = webSocketDispatcher;
+        this.proposalResponseMapper = proposalResponseMapper;
+        this.proposalResponseRenderer = proposalResponseRenderer;
+        this.proposalResponseCache = proposalResponseCache;
+        this.proposalMetrics = proposalMetrics;
+        this.proposalDecisionWindow = proposalDecisionWindow;
+        this.stripedBatchProcessor = stripedBatchProcessor;
+        this.proposalDecisionWaiters = proposalDecisionWaiters;
+        this.proposalDecisionPublisher = proposalDecisionPublisher;
+        this.clusterFanout = clusterFanout;
+    }
 
     /**
-     * Receives completed proposal messages from RabbitMQ. Updates the proposal
-     * in the database and notifies clients via WebSocket.
+     * Receives a batch of completed proposal messages from RabbitMQ. Updates
+     * the proposals in the database with one JDBC batch and then notifies
+     * clients via WebSocket. The batch is acknowledged as a unit: if the update
+     * fails, the whole batch is retried. The batch is split by proposal ID
+     * across parallel workers, keeping the order of updates to each proposal.
+     * Processing is idempotent: decisions already stored, as on redelivery or
+     * retry, are neither written again nor pushed to clients. Lifecycle trace
+     * headers, when present, are read and carried on to the WebSocket push.
      *
-     * @param proposal The completed proposal received from RabbitMQ
+     * @param messages The completed proposal messages received from RabbitMQ
      */
-    @RabbitListener(queues = "${rabbitmq.queue.completed.proposal}")
-    public void handleCompletedProposal(Proposal proposal) {
-        log.info("Received completed proposal with ID: {}", proposal.getId());
+    @RabbitListener(id = LISTENER_ID, queues = "${rabbitmq.queue.completed.proposal}",
+            containerFactory = "completedProposalContainerFactory")
+    public void handleCompletedProposals(List<Message<Proposal>> messages) {
+        log.info("Received batch of {} completed proposals", messages.size());
+        proposalMetrics.timeListenerBatch(() -> processBatch(messages));
+        log.info("Successfully processed batch of {} proposals", messages.size());
+    }
+
+    private void processBatch(List<Message<Proposal>> messages) {
+        long receivedAt = System.currentTimeMillis();
+        List<Proposal> proposals = new ArrayList<>(messages.size());
+        Map<Long, ProposalTrace> traces = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        messages.forEach(message -> {
+            // Only the first message of a proposal in the batch is compared with
+            // the window; later ones may follow a different decision of the batch.
+            if (seen.add(message.getPayload().getId()) && proposalDecisionWindow.isApplied(message.getPayload())) {
+                return;
+            }
+            proposals.add(message.getPayload());
+            var trace = ProposalTrace.fromHeaders(message.getHeaders(), receivedAt);
+            if (trace != null) {
+                proposalMetrics.recordReceived(trace);
+                traces.put(message.getPayload().getId(), trace);
+            }
+        });
+        proposalMetrics.completedDuplicates("window", messages.size() - proposals.size());
+        if (proposals.isEmpty()) {
+            log.debug("Skipped batch of {} already applied proposals", messages.size());
+            return;
+        }
 
+        stripedBatchProcessor.process(proposals, Proposal::getId, stripe -> applyDecisions(stripe, traces));
+    }
+
+    /**
+     * Stores the decisions of one stripe of a batch and notifies clients about
+     * the proposals that changed.
+     *
+     * @param proposals The completed proposals of the stripe, in batch order
+     * @param traces The lifecycle traces of the batch, by proposal ID
+     */
+    private void applyDecisions(List<Proposal> proposals, Map<Long, ProposalTrace> traces) {
+        List<Proposal> changed;
         try {
-            proposalService.updateProposalStatus(proposal);
-            notifyClientsViaWebSocket(proposal);
-            log.info("Successfully processed proposal: {}", proposal.getId());
+            changed = proposalService.updateProposalStatuses(proposals);
         } catch (Exception e) {
-            log.error("Error processing completed proposal with ID: {}: {}",
-                    proposal.getId(), e.getMessage(), e);
+            log.error("Error processing batch of {} completed proposals: {}",
+                    proposals.size(), e.getMessage(), e);
+            throw e;
         }
+        proposalDecisionWindow.markApplied(proposals);
+        proposalMetrics.completedDuplicates("database", proposals.size() - changed.size());
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        long updatedAt = System.currentTimeMillis();
+        notifyClientsViaWebSocket(changed, id -> {
+            var trace = traces.get(id);
+            if (trace == null) {
+                return null;
+            }
+            var updated = trace.updated(updatedAt);
+            proposalMetrics.recordStage(ProposalMetrics.Stage.UPDATE, updated.receivedAt(), updated.updatedAt());
+            return updated;
+        });
     }
 
     /**
-     * Notifies connected clients about proposal update via WebSocket.
+     * Queues WebSocket notifications about the proposal updates of a batch and
+     * completes the requests long-polling for their decisions. Several updates
+     * to the same proposal within a batch are coalesced into a single
+     * notification carrying the latest state. Each response is rendered once
+     * and the same JSON is cached for HTTP reads.
      *
-     * @param proposal The updated proposal
+     * @param proposals The updated proposals
+     * @param traces Function returning the lifecycle trace of a proposal ID
      */
-    private void notifyClientsViaWebSocket(Proposal proposal) {
-        log.debug("Notifying clients about proposal: {}", proposal.getId());
-        var response = new ProposalResponse(proposal);
-        webSocketService.notify(response);
-        log.info("Clients notified about proposal: {}", proposal.getId());
+    private void notifyClientsViaWebSocket(List<Proposal> proposals, LongFunction<ProposalTrace> traces) {
+        Map<Long, Proposal> latest = new LinkedHashMap<>();
+        proposals.forEach(proposal -> latest.put(proposal.getId(), proposal));
+
+        latest.values().forEach(proposal -> {
+            try {
+                var rendered = proposalResponseRenderer.render(proposalResponseMapper.toResponse(proposal),
+                        proposal.getVersion());
+                proposalResponseCache.put(proposal.getId(), rendered);
+                if (clusterFanout) {
+                    // The decision is committed; the fan-out listeners of every instance deliver it.
+                    proposalDecisionPublisher.publish(proposal, traces.apply(proposal.getId()));
+                } else {
+                    proposalDecisionWaiters.complete(rendered);
+                    webSocketDispatcher.dispatch(rendered, traces.apply(proposal.getId()));
+                }
+            } catch (Exception e) {
+                log.error("Error rendering notification for proposal {}: {}",
+                        proposal.getId(), e.getMessage(), e);
+            }
+        });
+        log.info("Queued client notifications for {} proposals", latest.size());
     }
 }
@@ -0,0 +1,109 @@
+package com.leonardo.propostaapp.listener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Processes the items of a batch in parallel while keeping the order of items
+ * sharing a key. Items are split into stripes by key, each stripe is handled
+ * in batch order by one worker, and the call returns once every stripe is
+ * done. Because batches are processed one after the other, items of the same
+ * key are never reordered, within or across batches.
+ */
+@Component
+public class StripedBatchProcessor {
+
+    private final ExecutorService executor;
+    private volatile int stripes;
+
+    public StripedBatchProcessor(@Value("${rabbitmq.listener.completed-proposal.stripes:8}") int stripes) {
+        this.stripes = Math.max(1, stripes);
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("completed-proposal-stripe-", 0).factory());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Handles the items of a batch, one stripe per worker. If a stripe fails,
+     * the other stripes still run to completion and the first failure is then
+     * rethrown, so the caller can retry the whole batch.
+     *
+     * @param items The items in batch order
+     * @param key Function returning the ordering key of an item
+     * @param handler Handler of the items of one stripe, in batch order
+     */
+    public <T> void process(List<T> items, ToLongFunction<T> key, Consumer<List<T>> handler) {
+        List<List<T>> partitions = partition(items, key);
+        if (partitions.size() == 1) {
+            handler.accept(partitions.getFirst());
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>(partitions.size());
+        partitions.forEach(partition -> futures.add(executor.submit(() -> handler.accept(partition))));
+
+        RuntimeException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                throw new IllegalStateException("Interrupted while processing batch", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException runtime ? runtime
+                            : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns the number of stripes a batch is split into at most.
+     *
+     * @return The stripe count
+     */
+    public int getStripes() {
+        return stripes;
+    }
+
+    /**
+     * Changes the number of stripes. Takes effect from the next batch, so the
+     * order of items sharing a key is kept across the change.
+     *
+     * @param stripes The new stripe count
+     */
+    public void setStripes(int stripes) {
+        this.stripes = Math.max(1, stripes);
+    }
+
+    private <T> List<List<T>> partition(List<T> items, ToLongFunction<T> key) {
+        int stripes = this.stripes;
+        List<List<T>> byStripe = new ArrayList<>(stripes);
+        for (int i = 0; i < stripes; i++) {
+            byStripe.add(new ArrayList<>());
+        }
+        items.forEach(item -> byStripe.get(Math.floorMod(Long.hashCode(key.applyAsLong(item)), stripes)).add(item));
+        byStripe.removeIf(List::isEmpty);
+        return byStripe;
+    }
+}
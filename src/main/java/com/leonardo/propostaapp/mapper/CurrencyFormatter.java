@@ -0,0 +1,44 @@
+package com.leonardo.propostaapp.mapper;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thread-safe currency formatter for a configured locale. The locale lookup is
+ * done once; {@link NumberFormat} instances are not thread-safe, so clones of
+ * the prototype are pooled and reused instead of being created per call. A pool
+ * is used rather than a thread local so it stays effective on virtual threads.
+ */
+@Component
+public class CurrencyFormatter {
+
+    private final NumberFormat prototype;
+    private final Queue<NumberFormat> pool = new ConcurrentLinkedQueue<>();
+
+    public CurrencyFormatter(@Value("${proposal.response.currency-locale:en-US}") String localeTag) {
+        this.prototype = NumberFormat.getCurrencyInstance(Locale.forLanguageTag(localeTag));
+    }
+
+    /**
+     * Formats an amount as currency.
+     *
+     * @param amount The amount to format
+     * @return The formatted amount
+     */
+    public String format(double amount) {
+        NumberFormat format = pool.poll();
+        if (format == null) {
+            format = (NumberFormat) prototype.clone();
+        }
+        try {
+            return format.format(amount);
+        } finally {
+            pool.offer(format);
+        }
+    }
+}
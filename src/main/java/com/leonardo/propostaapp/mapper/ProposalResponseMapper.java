@@ -0,0 +1,62 @@
+package com.leonardo.propostaapp.mapper;
+
+import com.leonardo.propostaapp.dto.ProposalResponse;
+import com.leonardo.propostaapp.dto.ProposalView;
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.entity.User;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maps proposals to response DTOs, formatting the proposal value with the
+ * shared {@link CurrencyFormatter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProposalResponseMapper {
+
+    private final CurrencyFormatter currencyFormatter;
+
+    /**
+     * Builds a response DTO from a Proposal entity.
+     *
+     * @param proposal The proposal entity
+     * @return The proposal response DTO
+     */
+    public ProposalResponse toResponse(Proposal proposal) {
+        User user = proposal.getUser();
+        return new ProposalResponse(
+                proposal.getId(),
+                user.getName().toUpperCase(),
+                user.getLastName().toUpperCase(),
+                user.getPhoneNumber(),
+                user.getCpf(),
+                user.getFinancialIncome(),
+                currencyFormatter.format(proposal.getProposalValue()),
+                proposal.getPaymentTerm(),
+                proposal.getApproved(),
+                proposal.getObservation());
+    }
+
+    /**
+     * Builds a response DTO from a proposal projection.
+     *
+     * @param view The proposal projection
+     * @return The proposal response DTO
+     */
+    public ProposalResponse toResponse(ProposalView view) {
+        return new ProposalResponse(
+                view.id(),
+                view.name().toUpperCase(),
+                view.lastName().toUpperCase(),
+                view.phoneNumber(),
+                view.cpf(),
+                view.financialIncome(),
+                currencyFormatter.format(view.proposalValue()),
+                view.paymentTerm(),
+                view.approved(),
+                view.observation());
+    }
+}
@@ -0,0 +1,49 @@
+package com.leonardo.propostaapp.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.leonardo.propostaapp.dto.ProposalResponse;
+import com.leonardo.propostaapp.dto.RenderedProposal;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders proposal responses to JSON once, so the bytes can be shared between
+ * the REST API, the response cache and WebSocket notifications.
+ */
+@Component
+public class ProposalResponseRenderer {
+
+    private final ObjectWriter writer;
+
+    public ProposalResponseRenderer(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(ProposalResponse.class);
+    }
+
+    /**
+     * Serializes a proposal response to JSON.
+     *
+     * @param response The proposal response DTO
+     * @return The response together with its JSON bytes
+     */
+    public RenderedProposal render(ProposalResponse response) {
+        return render(response, null);
+    }
+
+    /**
+     * Serializes a proposal response to JSON, recording the proposal version
+     * it was built from.
+     *
+     * @param response The proposal response DTO
+     * @param version The proposal version, or {@code null} if unknown
+     * @return The response together with its JSON bytes and version
+     */
+    public RenderedProposal render(ProposalResponse response, Long version) {
+        try {
+            return new RenderedProposal(response, writer.writeValueAsBytes(response), version);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize proposal response", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.leonardo.propostaapp.messaging;
+
+import com.leonardo.propostaapp.dto.ProposalMessage;
+import com.leonardo.propostaapp.entity.Proposal;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+/**
+ * Message converter writing proposals in the compact binary format of
+ * {@link ProposalMessageCodec}. Other payloads are handed to the fallback
+ * converter, so the same RabbitTemplate can keep sending them as JSON.
+ */
+public class ProposalBinaryMessageConverter extends AbstractMessageConverter {
+
+    public static final String CONTENT_TYPE = "application/x-proposal-binary";
+
+    private final MessageConverter fallback;
+
+    public ProposalBinaryMessageConverter(MessageConverter fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    protected Message createMessage(Object object, MessageProperties messageProperties) {
+        if (!(object instanceof Proposal proposal)) {
+            return fallback.toMessage(object, messageProperties);
+        }
+        byte[] body = ProposalMessageCodec.encode(ProposalMessage.from(proposal));
+        messageProperties.setContentType(CONTENT_TYPE);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        try {
+            return ProposalMessageCodec.decode(message.getBody()).toProposal();
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException("Failed to decode binary proposal message", e);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.leonardo.propostaapp.messaging;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.leonardo.propostaapp.dto.ProposalMessage;
+
+/**
+ * Compact binary codec for {@link ProposalMessage}.
+ * <p>
+ * Layout: a version byte, a flags byte marking which nullable fields are
+ * present and holding the boolean values, then the present numeric fields
+ * (ids as unsigned varints, the payment term as a zig-zag varint, doubles as
+ * 8 bytes) and finally the strings, each prefixed by a varint of its UTF-8
+ * length plus one so that zero encodes {@code null}.
+ */
+public final class ProposalMessageCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_PROPOSAL_VALUE = 1 << 1;
+    private static final int HAS_APPROVED = 1 << 2;
+    private static final int APPROVED = 1 << 3;
+    private static final int INTEGRATED = 1 << 4;
+    private static final int HAS_USER_ID = 1 << 5;
+    private static final int HAS_FINANCIAL_INCOME = 1 << 6;
+
+    private ProposalMessageCodec() {
+    }
+
+    /**
+     * Encodes a proposal message into an exactly sized byte array.
+     *
+     * @param message The proposal message
+     * @return The encoded bytes
+     */
+    public static byte[] encode(ProposalMessage message) {
+        byte[] observation = utf8(message.observation());
+        byte[] name = utf8(message.name());
+        byte[] lastName = utf8(message.lastName());
+        byte[] cpf = utf8(message.cpf());
+        byte[] phoneNumber = utf8(message.phoneNumber());
+
+        int flags = 0;
+        int size = 2 + varintSize(zigZag(message.paymentTerm()));
+        if (message.id() != null) {
+            flags |= HAS_ID;
+            size += varintSize(message.id());
+        }
+        if (message.proposalValue() != null) {
+            flags |= HAS_PROPOSAL_VALUE;
+            size += Double.BYTES;
+        }
+        if (message.approved() != null) {
+            flags |= HAS_APPROVED;
+            if (message.approved()) {
+                flags |= APPROVED;
+            }
+        }
+        if (message.integrated()) {
+            flags |= INTEGRATED;
+        }
+        if (message.userId() != null) {
+            flags |= HAS_USER_ID;
+            size += varintSize(message.userId());
+        }
+        if (message.financialIncome() != null) {
+            flags |= HAS_FINANCIAL_INCOME;
+            size += Double.BYTES;
+        }
+        size += stringSize(observation) + stringSize(name) + stringSize(lastName) + stringSize(cpf)
+                + stringSize(phoneNumber);
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION);
+        buffer.put((byte) flags);
+        if (message.id() != null) {
+            putVarint(buffer, message.id());
+        }
+        if (message.proposalValue() != null) {
+            buffer.putDouble(message.proposalValue());
+        }
+        putVarint(buffer, zigZag(message.paymentTerm()));
+        if (message.userId() != null) {
+            putVarint(buffer, message.userId());
+        }
+        if (message.financialIncome() != null) {
+            buffer.putDouble(message.financialIncome());
+        }
+        putString(buffer, observation);
+        putString(buffer, name);
+        putString(buffer, lastName);
+        putString(buffer, cpf);
+        putString(buffer, phoneNumber);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a proposal message.
+     *
+     * @param bytes The encoded bytes
+     * @return The proposal message
+     * @throws IllegalArgumentException if the version is not supported or the
+     *         bytes are malformed
+     */
+    public static ProposalMessage decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported proposal message version " + version);
+            }
+            int flags = buffer.get() & 0xFF;
+            Long id = (flags & HAS_ID) != 0 ? getVarint(buffer) : null;
+            Double proposalValue = (flags & HAS_PROPOSAL_VALUE) != 0 ? buffer.getDouble() : null;
+            int paymentTerm = unZigZag(getVarint(buffer));
+            Long userId = (flags & HAS_USER_ID) != 0 ? getVarint(buffer) : null;
+            Double financialIncome = (flags & HAS_FINANCIAL_INCOME) != 0 ? buffer.getDouble() : null;
+            Boolean approved = (flags & HAS_APPROVED) != 0 ? (flags & APPROVED) != 0 : null;
+            String observation = getString(buffer);
+            String name = getString(buffer);
+            String lastName = getString(buffer);
+            String cpf = getString(buffer);
+            String phoneNumber = getString(buffer);
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes in proposal message");
+            }
+            return new ProposalMessage(id, proposalValue, paymentTerm, approved, (flags & INTEGRATED) != 0,
+                    observation, userId, name, lastName, cpf, phoneNumber, financialIncome);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated proposal message", e);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringSize(byte[] value) {
+        return value == null ? 1 : varintSize(value.length + 1L) + value.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.put((byte) 0);
+            return;
+        }
+        putVarint(buffer, value.length + 1L);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        long lengthPlusOne = getVarint(buffer);
+        if (lengthPlusOne == 0) {
+            return null;
+        }
+        int length = Math.toIntExact(lengthPlusOne - 1);
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static long zigZag(int value) {
+        return Integer.toUnsignedLong((value << 1) ^ (value >> 31));
+    }
+
+    private static int unZigZag(long value) {
+        int encoded = (int) value;
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    private static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in proposal message");
+    }
+}
@@ -0,0 +1,260 @@
+package com.leonardo.propostaapp.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metrics of the proposal lifecycle: creation, publication to RabbitMQ,
+ * completed-proposal processing and WebSocket delivery. Timers publish
+ * percentile histograms so latency SLOs can be computed from the Prometheus
+ * scrape.
+ */
+@Component
+public class ProposalMetrics {
+
+    private static final String OUTCOME = "outcome";
+    private static final String REASON = "reason";
+
+    /**
+     * Stages of the proposal lifecycle, from the POST until the decision is
+     * pushed to WebSocket subscribers.
+     */
+    public enum Stage {
+        /** Creation until the proposal and its outbox row are committed. */
+        PERSIST,
+        /** Creation until RabbitMQ confirms the pending proposal. */
+        PUBLISH,
+        /** Time spent queued in RabbitMQ, in both directions. */
+        BROKER_WAIT,
+        /** Credit analysis; includes broker wait when the analysis sends no stamps. */
+        CREDIT_ANALYSIS,
+        /** Receipt of the decision until it is stored. */
+        UPDATE,
+        /** Storage of the decision until it is pushed to WebSocket subscribers. */
+        PUSH,
+        /** Creation until the decision is pushed to WebSocket subscribers. */
+        TOTAL
+    }
+
+    private final MeterRegistry registry;
+    private final Timer createTimer;
+    private final Timer listenerTimer;
+    private final Timer webSocketSendTimer;
+    private final Counter outboxRescheduled;
+    private final Map<String, Counter> duplicates = new ConcurrentHashMap<>();
+    private final Map<String, Timer> publishTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> publishFailures = new ConcurrentHashMap<>();
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final AtomicLong backlog = new AtomicLong();
+    private final Set<String> webSocketSessions = ConcurrentHashMap.newKeySet();
+
+    public ProposalMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.createTimer = histogram(Timer.builder("proposal.create")
+                .description("Time to create and durably store a proposal"));
+        this.listenerTimer = histogram(Timer.builder("proposal.listener.batch")
+                .description("Time to process a batch of completed proposals"));
+        this.webSocketSendTimer = histogram(Timer.builder("websocket.send")
+                .description("Time to hand a proposal update to the WebSocket broker"));
+        this.outboxRescheduled = Counter.builder("proposal.outbox.rescheduled")
+                .description("Outbox messages left non-integrated and rescheduled after a failed publish")
+                .register(registry);
+        Gauge.builder("proposal.backlog", backlog, AtomicLong::get)
+                .description("Proposals not yet integrated with the message broker")
+                .register(registry);
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, histogram(Timer.builder("proposal.lifecycle")
+                    .description("Latency of each stage of the proposal lifecycle")
+                    .tag("stage", stage.name().toLowerCase())));
+        }
+        Gauge.builder("websocket.sessions", webSocketSessions, Set::size)
+                .description("Connected WebSocket sessions")
+                .register(registry);
+    }
+
+    /**
+     * Times the creation of a proposal.
+     *
+     * @param creation The creation to time
+     * @return The result of the creation
+     */
+    public <T> T timeCreateProposal(Supplier<T> creation) {
+        return createTimer.record(creation);
+    }
+
+    /**
+     * Times the processing of a batch of completed proposals.
+     *
+     * @param processing The processing to time
+     */
+    public void timeListenerBatch(Runnable processing) {
+        listenerTimer.record(processing);
+    }
+
+    /**
+     * Returns the total time spent processing completed-proposal batches.
+     *
+     * @return The cumulative busy time in nanoseconds
+     */
+    public long getListenerBusyNanos() {
+        return (long) listenerTimer.totalTime(TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the latency from sending a proposal to RabbitMQ until the broker
+     * confirmed it.
+     *
+     * @param startNanos The {@link System#nanoTime()} of the send
+     * @param outcome The confirm outcome, such as {@code ack} or {@code nack}
+     */
+    public void recordPublish(long startNanos, String outcome) {
+        publishTimers.computeIfAbsent(outcome, key -> histogram(Timer.builder("proposal.publish")
+                .description("Time from publishing a proposal until the broker confirms it")
+                .tag(OUTCOME, key)))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a failed proposal publication.
+     *
+     * @param reason Why the publication failed
+     */
+    public void publishFailed(String reason) {
+        publishFailures.computeIfAbsent(reason, key -> Counter.builder("proposal.publish.failures")
+                .description("Proposal publications that were not accepted by the broker")
+                .tag(REASON, key)
+                .register(registry))
+                .increment();
+    }
+
+    /**
+     * Counts outbox messages that stay non-integrated and are retried later.
+     *
+     * @param count The number of rescheduled messages
+     */
+    public void outboxRescheduled(int count) {
+        outboxRescheduled.increment(count);
+    }
+
+    /**
+     * Counts completed-proposal messages skipped as duplicates.
+     *
+     * @param check The check that detected them, {@code window} or {@code database}
+     * @param count The number of skipped messages
+     */
+    public void completedDuplicates(String check, int count) {
+        if (count > 0) {
+            duplicates.computeIfAbsent(check, key -> Counter.builder("proposal.listener.duplicates")
+                    .description("Completed proposals skipped because their decision was already stored")
+                    .tag("check", key)
+                    .register(registry))
+                    .increment(count);
+        }
+    }
+
+    /**
+     * Updates the non-integrated proposal backlog gauge.
+     *
+     * @param count The number of proposals not yet integrated
+     */
+    public void updateBacklog(long count) {
+        backlog.set(count);
+    }
+
+    /**
+     * Records the time taken to send one update to WebSocket subscribers.
+     *
+     * @param startNanos The {@link System#nanoTime()} when the send started
+     */
+    public void recordWebSocketSend(long startNanos) {
+        webSocketSendTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the latency of a lifecycle stage between two wall clock stamps.
+     * Absent stamps and negative spans, caused by clock skew between hosts,
+     * are ignored.
+     *
+     * @param stage The lifecycle stage
+     * @param fromMillis When the stage started, in epoch milliseconds
+     * @param toMillis When the stage ended, in epoch milliseconds
+     */
+    public void recordStage(Stage stage, long fromMillis, long toMillis) {
+        if (fromMillis > 0 && toMillis >= fromMillis) {
+            stageTimers.get(stage).record(toMillis - fromMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Records the broker and credit analysis stages of a received completed
+     * proposal. Without analysis stamps the whole round trip is recorded as
+     * credit analysis.
+     *
+     * @param trace The trace read from the completed proposal message
+     */
+    public void recordReceived(ProposalTrace trace) {
+        if (!trace.hasAnalysisStamps()) {
+            recordStage(Stage.CREDIT_ANALYSIS, trace.publishedAt(), trace.receivedAt());
+            return;
+        }
+        recordStage(Stage.CREDIT_ANALYSIS, trace.analysisStartedAt(), trace.analysisCompletedAt());
+        long outbound = trace.analysisStartedAt() - trace.publishedAt();
+        long inbound = trace.receivedAt() - trace.analysisCompletedAt();
+        if (trace.publishedAt() > 0 && outbound >= 0 && inbound >= 0) {
+            stageTimers.get(Stage.BROKER_WAIT).record(outbound + inbound, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Closes the trace of a proposal whose decision was pushed to WebSocket
+     * subscribers.
+     *
+     * @param trace The trace of the proposal
+     * @param pushedAt When the decision was pushed, in epoch milliseconds
+     */
+    public void recordPushed(ProposalTrace trace, long pushedAt) {
+        recordStage(Stage.PUSH, trace.updatedAt(), pushedAt);
+        recordStage(Stage.TOTAL, trace.createdAt(), pushedAt);
+    }
+
+    /**
+     * Tracks a newly connected WebSocket session.
+     *
+     * @param event The session connected event
+     */
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        webSocketSessions.add(SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders()));
+    }
+
+    /**
+     * Stops tracking a disconnected WebSocket session. The event may be
+     * published more than once per session.
+     *
+     * @param event The session disconnect event
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        webSocketSessions.remove(event.getSessionId());
+    }
+
+    private Timer histogram(Timer.Builder builder) {
+        return builder.publishPercentileHistogram().register(registry);
+    }
+}
@@ -0,0 +1,133 @@
+package com.leonardo.propostaapp.metrics;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.amqp.core.MessageProperties;
+
+/**
+ * Lifecycle timestamps of one proposal, carried across the RabbitMQ hops in
+ * message headers. Timestamps are epoch milliseconds from the wall clock,
+ * since they are compared between processes; {@code 0} means the stamp is
+ * absent. The credit analysis service is expected to copy the headers from the
+ * pending proposal to the completed one, and may add its own start and end
+ * stamps.
+ *
+ * @param traceId The correlation ID assigned when the proposal was created
+ * @param createdAt When proposal creation started
+ * @param publishedAt When the proposal was published to RabbitMQ
+ * @param analysisStartedAt When the credit analysis received the proposal
+ * @param analysisCompletedAt When the credit analysis published its decision
+ * @param receivedAt When the completed proposal was received back
+ * @param updatedAt When the decision was stored
+ */
+public record ProposalTrace(String traceId, long createdAt, long publishedAt, long analysisStartedAt,
+        long analysisCompletedAt, long receivedAt, long updatedAt) {
+
+    public static final String TRACE_ID_HEADER = "x-trace-id";
+    public static final String CREATED_AT_HEADER = "x-created-at";
+    public static final String PUBLISHED_AT_HEADER = "x-published-at";
+    public static final String ANALYSIS_STARTED_AT_HEADER = "x-analysis-started-at";
+    public static final String ANALYSIS_COMPLETED_AT_HEADER = "x-analysis-completed-at";
+    public static final String UPDATED_AT_HEADER = "x-updated-at";
+
+    /**
+     * Generates a new trace ID.
+     *
+     * @return The trace ID
+     */
+    public static String newTraceId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Stamps the trace headers on an outgoing pending proposal. The publish
+     * time is taken now, right before the message is sent.
+     *
+     * @param properties The message properties to stamp
+     * @param traceId The trace ID of the proposal
+     * @param createdAt When proposal creation started
+     */
+    public static void stampPublished(MessageProperties properties, String traceId, Instant createdAt) {
+        properties.setHeader(TRACE_ID_HEADER, traceId);
+        properties.setHeader(CREATED_AT_HEADER, createdAt.toEpochMilli());
+        properties.setHeader(PUBLISHED_AT_HEADER, System.currentTimeMillis());
+    }
+
+    /**
+     * Stamps this trace on an outgoing stored decision, so the instances
+     * delivering it carry on the same trace. Absent stamps are left out.
+     *
+     * @param properties The message properties to stamp
+     */
+    public void stamp(MessageProperties properties) {
+        properties.setHeader(TRACE_ID_HEADER, traceId);
+        stampIfPresent(properties, CREATED_AT_HEADER, createdAt);
+        stampIfPresent(properties, PUBLISHED_AT_HEADER, publishedAt);
+        stampIfPresent(properties, ANALYSIS_STARTED_AT_HEADER, analysisStartedAt);
+        stampIfPresent(properties, ANALYSIS_COMPLETED_AT_HEADER, analysisCompletedAt);
+        stampIfPresent(properties, UPDATED_AT_HEADER, updatedAt);
+    }
+
+    /**
+     * Reads the trace of a received completed proposal from its headers.
+     *
+     * @param headers The message headers
+     * @param receivedAt When the message was received
+     * @return The trace, or {@code null} if the message carries no trace ID
+     */
+    public static ProposalTrace fromHeaders(Map<String, Object> headers, long receivedAt) {
+        Object traceId = headers.get(TRACE_ID_HEADER);
+        if (traceId == null) {
+            return null;
+        }
+        return new ProposalTrace(traceId.toString(),
+                timestamp(headers.get(CREATED_AT_HEADER)),
+                timestamp(headers.get(PUBLISHED_AT_HEADER)),
+                timestamp(headers.get(ANALYSIS_STARTED_AT_HEADER)),
+                timestamp(headers.get(ANALYSIS_COMPLETED_AT_HEADER)),
+                receivedAt,
+                timestamp(headers.get(UPDATED_AT_HEADER)));
+    }
+
+    /**
+     * Returns a copy of this trace with the store time of the decision set.
+     *
+     * @param updatedAt When the decision was stored
+     * @return The updated trace
+     */
+    public ProposalTrace updated(long updatedAt) {
+        return new ProposalTrace(traceId, createdAt, publishedAt, analysisStartedAt, analysisCompletedAt,
+                receivedAt, updatedAt);
+    }
+
+    /**
+     * Tells whether the credit analysis stamped when it started and finished.
+     *
+     * @return Whether both analysis stamps are present
+     */
+    public boolean hasAnalysisStamps() {
+        return analysisStartedAt > 0 && analysisCompletedAt > 0;
+    }
+
+    private static void stampIfPresent(MessageProperties properties, String header, long timestamp) {
+        if (timestamp > 0) {
+            properties.setHeader(header, timestamp);
+        }
+    }
+
+    private static long timestamp(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.leonardo.propostaapp.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import com.leonardo.propostaapp.entity.OutboxMessage;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for accessing and manipulating outbox messages.
+ */
+@Repository
+public interface OutboxMessageRepository extends ListCrudRepository<OutboxMessage, Long> {
+
+    /**
+     * Claims the oldest outbox messages due for an attempt. Rows are locked
+     * until the surrounding transaction ends and rows already locked by another
+     * instance are skipped, so concurrent relays never claim the same message.
+     *
+     * @param now The current time
+     * @param limit The maximum number of messages to claim
+     * @return List of claimed outbox messages ordered by insertion
+     */
+    @Query(value = "SELECT * FROM proposal_outbox WHERE next_attempt_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> claimDueBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Deletes the given outbox messages in a single statement.
+     *
+     * @param ids The outbox message IDs
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxMessage o WHERE o.id IN :ids")
+    void deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Records a failed attempt for the given outbox messages in a single
+     * statement, pushing each row's next attempt out exponentially based on
+     * its own attempt count.
+     *
+     * @param ids The outbox message IDs
+     * @param now The current time
+     * @param initialBackoffMs The delay after the first failed attempt
+     * @param maxBackoffMs The upper bound of the delay
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE proposal_outbox SET attempts = attempts + 1, "
+            + "next_attempt_at = CAST(:now AS timestamptz) + interval '1 millisecond' "
+            + "* LEAST(:maxBackoffMs, :initialBackoffMs * power(2, attempts)) "
+            + "WHERE id IN (:ids)", nativeQuery = true)
+    void rescheduleWithBackoff(
+            @Param("ids") Collection<Long> ids,
+            @Param("now") Instant now,
+            @Param("initialBackoffMs") long initialBackoffMs,
+            @Param("maxBackoffMs") long maxBackoffMs);
+}
@@ -0,0 +1,44 @@
+package com.leonardo.propostaapp.repository;
+
+import java.sql.Types;
+import java.util.Collection;
+
+import com.leonardo.propostaapp.entity.Proposal;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Repository for bulk proposal writes executed as JDBC batches, bypassing the
+ * JPA persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProposalBatchRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Updates the approval status and observation of several proposals in a
+     * single JDBC batch. Proposals already holding the given state, and
+     * proposals carrying a version the stored row has moved past, are not
+     * written and report zero affected rows.
+     *
+     * @param proposals The proposals carrying the new status
+     * @return The number of rows affected by each statement of the batch
+     */
+    public int[] updateApprovalStatuses(Collection<Proposal> proposals) {
+        SqlParameterSource[] parameters = proposals.stream()
+                .map(proposal -> new MapSqlParameterSource()
+                        .addValue("id", proposal.getId())
+                        .addValue("approved", proposal.getApproved())
+                        .addValue("observation", proposal.getObservation())
+                        .addValue("version", proposal.getVersion(), Types.BIGINT))
+                .toArray(SqlParameterSource[]::new);
+        return jdbcTemplate.batchUpdate(ProposalRepository.UPDATE_APPROVAL_STATUS, parameters);
+    }
+}
@@ -0,0 +1,44 @@
+package com.leonardo.propostaapp.repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Repository streaming query results out of PostgreSQL with
+ * {@code COPY ... TO STDOUT}, bypassing JDBC result sets and entity mapping.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProposalExportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs a {@code COPY ... TO STDOUT} statement on the current connection and
+     * writes its output as the server sends it, holding only the driver's copy
+     * buffer in memory.
+     *
+     * @param copySql The COPY statement
+     * @param output The stream receiving the output
+     * @return The number of rows copied
+     * @throws UncheckedIOException if writing to the output fails
+     */
+    public long copyOut(String copySql, OutputStream output) {
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(copySql, output);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows == null ? 0 : rows;
+    }
+}
@@ -0,0 +1,161 @@
+package com.leonardo.propostaapp.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Repository managing the monthly range partitions of the proposal table.
+ * Partitions are named {@code proposal_pYYYY_MM} and bounded by month starts
+ * in UTC.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProposalPartitionRepository {
+
+    private static final String PARTITION_PREFIX = "proposal_p";
+    private static final String DEFAULT_PARTITION = "proposal_default";
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final long MAINTENANCE_LOCK_ID = 0x70726f706f73616cL;
+    private static final String DETACH_LOCK_TIMEOUT = "5s";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs partition maintenance under the session-level advisory lock guarding
+     * it, so only one instance changes partitions at a time. The lock is held
+     * on a connection of its own for the whole run, which leaves each
+     * maintenance step free to run in its own short transaction.
+     *
+     * @param maintenance The maintenance to run
+     * @return The maintenance result, or empty if another instance holds the lock
+     */
+    public <T> Optional<T> withMaintenanceLock(Supplier<T> maintenance) {
+        return jdbcTemplate.execute((ConnectionCallback<Optional<T>>) connection -> {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.ofNullable(maintenance.get());
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        });
+    }
+
+    /**
+     * Lists the months of the monthly partitions attached to the proposal
+     * table. The default partition is not included.
+     *
+     * @return The partition months
+     */
+    public List<YearMonth> findAttachedMonths() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid "
+                + "JOIN pg_class p ON p.oid = i.inhparent "
+                + "WHERE p.relname = 'proposal'", String.class)
+                .stream()
+                .map(ProposalPartitionRepository::monthOf)
+                .flatMap(Optional::stream)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Creates the partition of a month, unless it already exists. PostgreSQL
+     * refuses a new partition while rows of its month sit in the default
+     * partition, which happens once maintenance has been down for longer than
+     * it creates partitions ahead. Those rows are moved into the new partition
+     * in the same transaction; the default partition is detached meanwhile,
+     * which blocks access to proposals until the move commits.
+     *
+     * @param month The month
+     * @return The number of rows moved out of the default partition
+     */
+    @Transactional
+    public int createPartition(YearMonth month) {
+        String from = "'" + month.atDay(1) + " 00:00:00+00'";
+        String to = "'" + month.plusMonths(1).atDay(1) + " 00:00:00+00'";
+        String create = "CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                + " PARTITION OF proposal FOR VALUES FROM (" + from + ") TO (" + to + ")";
+        String inMonth = " WHERE created_at >= " + from + " AND created_at < " + to;
+
+        Boolean stray = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + inMonth + ")", Boolean.class);
+        if (!Boolean.TRUE.equals(stray)) {
+            jdbcTemplate.execute(create);
+            return 0;
+        }
+        jdbcTemplate.execute("ALTER TABLE proposal DETACH PARTITION " + DEFAULT_PARTITION);
+        jdbcTemplate.execute(create);
+        int moved = jdbcTemplate.update("INSERT INTO proposal SELECT * FROM " + DEFAULT_PARTITION + inMonth);
+        jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + inMonth);
+        jdbcTemplate.execute("ALTER TABLE proposal ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+        return moved;
+    }
+
+    /**
+     * Detaches the partition of a month from the proposal table. The detached
+     * table keeps its rows for archival and is no longer visible to queries on
+     * proposals. PostgreSQL does not allow a concurrent detach while the table
+     * has a default partition, so the detach takes an exclusive lock on the
+     * proposal table; it only changes the catalog and holds that lock briefly,
+     * and gives up after a short lock timeout rather than queueing every query
+     * on proposals behind a long-running one.
+     *
+     * @param month The month
+     */
+    @Transactional
+    public void detachPartition(YearMonth month) {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + DETACH_LOCK_TIMEOUT + "'");
+        jdbcTemplate.execute("ALTER TABLE proposal DETACH PARTITION " + partitionName(month));
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, MAINTENANCE_LOCK_ID);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the partition of a month.
+     *
+     * @param month The month
+     * @return The partition table name
+     */
+    public static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(MONTH_FORMAT);
+    }
+
+    /**
+     * Returns the month of a partition from its name.
+     *
+     * @param partitionName The partition table name
+     * @return The month, or empty if the name is not a monthly partition
+     */
+    public static Optional<YearMonth> monthOf(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), MONTH_FORMAT));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
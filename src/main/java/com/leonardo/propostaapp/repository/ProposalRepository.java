@@ -1,22 +1,55 @@
 package com.leonardo.propostaapp.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import com.leonardo.propostaapp.dto.ProposalVersion;
+import com.leonardo.propostaapp.dto.ProposalView;
 import com.leonardo.propostaapp.entity.Proposal;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for accessing and manipulating Proposal entities.
  */
 @Repository
 public interface ProposalRepository extends ListCrudRepository<Proposal, Long> {
 
+    /**
+     * Native update of a proposal's approval status and observation, shared
+     * with the JDBC batch path in {@link ProposalBatchRepository}. Rows already
+     * holding the given state are left untouched, so a redelivered decision
+     * affects no rows; changed rows get a new version. A decision carrying a
+     * version only applies to a row still at that version, so a stale or
+     * reordered decision affects no rows either.
+     */
+    String UPDATE_APPROVAL_STATUS = "UPDATE proposal SET approved = :approved, observation = :observation, "
+            + "version = version + 1 "
+            + "WHERE id = :id "
+            + "AND (CAST(:version AS BIGINT) IS NULL OR version = :version) "
+            + "AND (approved IS DISTINCT FROM :approved OR observation IS DISTINCT FROM :observation)";
+
+    /**
+     * JPQL select building {@link ProposalView} projections of a proposal and
+     * its user in a single query.
+     */
+    String VIEW_SELECT = "SELECT new com.leonardo.propostaapp.dto.ProposalView("
+            + "p.id, u.name, u.lastName, u.phoneNumber, u.cpf, u.financialIncome, "
+            + "p.proposalValue, p.paymentTerm, p.approved, p.observation, p.version) "
+            + "FROM Proposal p JOIN p.user u ";
+
     /**
      * Finds all proposals that are not integrated with external systems.
      *
@@ -24,11 +57,91 @@ public interface ProposalRepository extends ListCrudRepository<Proposal, Long> {
      */
     List<Proposal> findAllByIntegratedIsFalse();
 
+    /**
+     * Counts the proposals not yet integrated with external systems.
+     *
+     * @return The number of non-integrated proposals
+     */
+    @Transactional(readOnly = true)
+    long countByIntegratedIsFalse();
+
+    /**
+     * Finds the given proposals with their users fetched in the same query.
+     *
+     * @param ids The proposal IDs
+     * @return List of proposals with users initialized
+     */
+    @Query("SELECT p FROM Proposal p JOIN FETCH p.user WHERE p.id IN :ids")
+    List<Proposal> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the page of proposal projections following the given ID, using
+     * keyset pagination on the primary key.
+     *
+     * @param afterId The last ID of the previous page (exclusive)
+     * @param pageable The page defining the page size
+     * @return List of proposal projections ordered by ID
+     */
+    @Query(VIEW_SELECT + "WHERE p.id > :afterId ORDER BY p.id")
+    List<ProposalView> findViewsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Finds the projection of a single proposal.
+     *
+     * @param id The proposal ID
+     * @return Optional containing the projection if found
+     */
+    @Query(VIEW_SELECT + "WHERE p.id = :id")
+    Optional<ProposalView> findViewById(@Param("id") Long id);
+
+    /**
+     * Finds the version of a single proposal without loading the proposal or
+     * its user.
+     *
+     * @param id The proposal ID
+     * @return Optional containing the version if the proposal exists
+     */
+    @Query("SELECT p.version FROM Proposal p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Finds the versions of the given proposals.
+     *
+     * @param ids The proposal IDs
+     * @return The versions of the existing proposals
+     */
+    @Query("SELECT new com.leonardo.propostaapp.dto.ProposalVersion(p.id, p.version) "
+            + "FROM Proposal p WHERE p.id IN :ids")
+    List<ProposalVersion> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the IDs and versions of the page of proposals following the given
+     * ID, without joining their users.
+     *
+     * @param afterId The last ID of the previous page (exclusive)
+     * @param pageable The page defining the page size
+     * @return List of proposal versions ordered by ID
+     */
+    @Query("SELECT new com.leonardo.propostaapp.dto.ProposalVersion(p.id, p.version) "
+            + "FROM Proposal p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProposalVersion> findVersionsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Streams all proposal projections ordered by ID. The JDBC fetch size keeps
+     * only one fetch window in memory; must be consumed inside a transaction.
+     *
+     * @return Stream of proposal projections
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_SELECT + "ORDER BY p.id")
+    Stream<ProposalView> streamAllViews();
+
     /**
      * Finds all proposals that are integrated with external systems.
      *
      * @return List of integrated proposals
      */
+    @Transactional(readOnly = true)
     List<Proposal> findAllByIntegratedIsTrue();
 
     /**
@@ -37,6 +150,7 @@ public interface ProposalRepository extends ListCrudRepository<Proposal, Long> {
      * @param approved The approval status to filter by
      * @return List of proposals with the specified approval status
      */
+    @Transactional(readOnly = true)
     List<Proposal> findAllByApproved(Boolean approved);
 
     /**
@@ -56,13 +170,24 @@ public interface ProposalRepository extends ListCrudRepository<Proposal, Long> {
      * @param id The proposal ID
      * @param approved The approval status
      * @param observation The observation text
+     * @param version The version the decision was made on, or null to skip the check
      */
     @Transactional
     @Modifying
-    @Query(value = "UPDATE proposal SET approved = :approved, observation = :observation WHERE id = :id",
-            nativeQuery = true)
+    @Query(value = UPDATE_APPROVAL_STATUS, nativeQuery = true)
     void updateApprovalStatus(
             @Param("id") Long id,
             @Param("approved") boolean approved,
-            @Param("observation") String observation);
+            @Param("observation") String observation,
+            @Param("version") Long version);
+
+    /**
+     * Marks the given proposals as integrated in a single statement.
+     *
+     * @param ids The proposal IDs
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE proposal SET integrated = true WHERE id IN (:ids)", nativeQuery = true)
+    void markIntegrated(@Param("ids") Collection<Long> ids);
 }
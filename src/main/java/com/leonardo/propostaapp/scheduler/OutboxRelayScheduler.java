@@ -0,0 +1,40 @@
+package com.leonardo.propostaapp.scheduler;
+
+import com.leonardo.propostaapp.service.ProposalOutboxService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduler that drains the proposal outbox, publishing pending proposals to
+ * RabbitMQ outside of the HTTP request transaction. Also retries proposals
+ * whose earlier publish failed, once their backoff has elapsed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelayScheduler {
+
+    private final ProposalOutboxService proposalOutboxService;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * Relays outbox batches until a batch comes back partially confirmed or
+     * the outbox is empty.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.fixed-delay-ms:500}")
+    public void relayOutbox() {
+        int relayed;
+        do {
+            relayed = proposalOutboxService.relayBatch();
+        } while (relayed == batchSize);
+    }
+}
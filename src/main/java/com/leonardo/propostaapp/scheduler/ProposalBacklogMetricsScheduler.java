@@ -0,0 +1,29 @@
+package com.leonardo.propostaapp.scheduler;
+
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
+import com.leonardo.propostaapp.repository.ProposalRepository;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Scheduler that refreshes the proposal backlog gauge. The count is read on a
+ * fixed schedule so that metric scrapes never hit the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProposalBacklogMetricsScheduler {
+
+    private final ProposalRepository proposalRepository;
+    private final ProposalMetrics proposalMetrics;
+
+    /**
+     * Counts the proposals not yet integrated and publishes the value.
+     */
+    @Scheduled(fixedDelayString = "${metrics.proposal-backlog.refresh-ms:15000}")
+    public void refreshBacklog() {
+        proposalMetrics.updateBacklog(proposalRepository.countByIntegratedIsFalse());
+    }
+}
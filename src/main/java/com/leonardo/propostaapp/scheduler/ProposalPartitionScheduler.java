@@ -0,0 +1,36 @@
+package com.leonardo.propostaapp.scheduler;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+import com.leonardo.propostaapp.service.ProposalPartitionService;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Scheduler that keeps the proposal table partitions in shape, at startup and
+ * then daily: upcoming months get their partition, expired months are
+ * detached for archival.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "proposal.partition.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class ProposalPartitionScheduler {
+
+    private final ProposalPartitionService proposalPartitionService;
+
+    /**
+     * Maintains the partitions for the current UTC month.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${proposal.partition.maintenance.cron:0 0 3 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        proposalPartitionService.maintain(YearMonth.now(ZoneOffset.UTC));
+    }
+}
@@ -1,26 +1,43 @@
 package com.leonardo.propostaapp.service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 import com.leonardo.propostaapp.entity.Proposal;
 import com.leonardo.propostaapp.exception.MessagingServiceException;
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
 
 import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Service for sending notifications to RabbitMQ.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class NotificationRabbitService {
     private static final String DEFAULT_ROUTING_KEY = "";
 
     private final RabbitTemplate rabbitTemplate;
+    private final ProposalMetrics proposalMetrics;
+    private final Semaphore inFlight;
+
+    @Value("${rabbitmq.publisher.acquire-timeout-ms:5000}")
+    private long acquireTimeoutMs;
+
+    public NotificationRabbitService(RabbitTemplate rabbitTemplate, ProposalMetrics proposalMetrics,
+            @Value("${rabbitmq.publisher.max-in-flight:1000}") int maxInFlight) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.proposalMetrics = proposalMetrics;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
 
     /**
      * Sends a notification to RabbitMQ with custom message properties.
@@ -58,4 +75,77 @@ public class NotificationRabbitService {
             throw new MessagingServiceException("Failed to send proposal to message broker", e);
         }
     }
+
+    /**
+     * Sends a notification to RabbitMQ with publisher confirms and returns.
+     * Several sends can be pipelined before waiting: the returned future
+     * completes once the broker acks the message, and fails if the broker
+     * nacks it or returns it as unroutable. At most the configured number of
+     * messages are in flight at once; further sends wait for a free slot.
+     *
+     * @param proposal The proposal to send
+     * @param exchange The exchange to send to
+     * @param messagePostProcessor Processor for setting message properties
+     * @return A future completed when the broker has accepted the message
+     * @throws MessagingServiceException if there's an error communicating with
+     *         RabbitMQ or no in-flight slot frees up in time
+     */
+    public CompletableFuture<Void> notifyAsync(Proposal proposal, String exchange,
+            MessagePostProcessor messagePostProcessor) {
+        acquireInFlightSlot(proposal);
+        var correlationData = new CorrelationData();
+        long start = System.nanoTime();
+        try {
+            log.debug("Sending proposal {} to exchange {} with publisher confirm", proposal.getId(), exchange);
+            rabbitTemplate.convertAndSend(exchange, DEFAULT_ROUTING_KEY, proposal, messagePostProcessor,
+                    correlationData);
+        } catch (AmqpException e) {
+            inFlight.release();
+            proposalMetrics.publishFailed("send_error");
+            throw new MessagingServiceException("Failed to send proposal to message broker", e);
+        }
+        return correlationData.getFuture()
+                .whenComplete((confirm, ex) -> inFlight.release())
+                .thenAccept(confirm -> {
+                    if (!confirm.isAck()) {
+                        recordFailure(start, "nack");
+                        throw new MessagingServiceException("Broker nacked proposal " + proposal.getId()
+                                + ": " + confirm.getReason());
+                    }
+                    if (correlationData.getReturned() != null) {
+                        recordFailure(start, "returned");
+                        throw new MessagingServiceException("Broker returned proposal " + proposal.getId()
+                                + " as unroutable: " + correlationData.getReturned().getReplyText());
+                    }
+                    proposalMetrics.recordPublish(start, "ack");
+                });
+    }
+
+    /**
+     * Returns the number of messages that can currently be sent without
+     * waiting for a confirm.
+     *
+     * @return The number of free in-flight slots
+     */
+    public int getAvailableInFlightSlots() {
+        return inFlight.availablePermits();
+    }
+
+    private void recordFailure(long start, String outcome) {
+        proposalMetrics.recordPublish(start, outcome);
+        proposalMetrics.publishFailed(outcome);
+    }
+
+    private void acquireInFlightSlot(Proposal proposal) {
+        try {
+            if (!inFlight.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                proposalMetrics.publishFailed("window_full");
+                throw new MessagingServiceException("Timed out waiting for an in-flight slot to send proposal "
+                        + proposal.getId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingServiceException("Interrupted while waiting to send proposal " + proposal.getId(), e);
+        }
+    }
 }
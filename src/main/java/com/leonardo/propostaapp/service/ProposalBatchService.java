@@ -0,0 +1,208 @@
+package com.leonardo.propostaapp.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.leonardo.propostaapp.dto.ProposalBatchItemResult;
+import com.leonardo.propostaapp.dto.ProposalBatchResponse;
+import com.leonardo.propostaapp.dto.ProposalRequest;
+import com.leonardo.propostaapp.exception.BatchSizeExceededException;
+import com.leonardo.propostaapp.exception.MalformedBatchException;
+import com.leonardo.propostaapp.websocket.ProposalSubscriptionTokens;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for bulk proposal intake. Validates every item of a batch on its own,
+ * persists the valid ones together and reports the outcome per item, so one
+ * bad record does not reject a partner's whole submission. Each created item
+ * carries the token for following its proposal over WebSocket.
+ */
+@Service
+@Slf4j
+public class ProposalBatchService {
+    private static final String BODY_FIELD = "body";
+
+    private final ProposalService proposalService;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final ProposalSubscriptionTokens proposalSubscriptionTokens;
+
+    @Value("${proposal.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    public ProposalBatchService(ProposalService proposalService, Validator validator, ObjectMapper objectMapper,
+            ProposalSubscriptionTokens proposalSubscriptionTokens) {
+        this.proposalService = proposalService;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(ProposalRequest.class);
+        this.proposalSubscriptionTokens = proposalSubscriptionTokens;
+    }
+
+    /**
+     * Submits a batch of already bound proposal requests.
+     *
+     * @param requests The proposal requests, possibly with null items
+     * @return The per-item result of the submission
+     * @throws BatchSizeExceededException if the batch is larger than allowed
+     */
+    public ProposalBatchResponse submit(List<ProposalRequest> requests) {
+        checkBatchSize(requests.size());
+        var batch = new Batch(requests.size());
+        for (ProposalRequest request : requests) {
+            batch.add(request);
+        }
+        return batch.persist();
+    }
+
+    /**
+     * Submits a batch of proposals received as a JSON array. The array is read
+     * one item at a time, so the size limit applies before the whole body is
+     * in memory. Items that do not bind to a proposal request are rejected like
+     * invalid items; a body that is not a well-formed array is rejected whole.
+     *
+     * @param inputStream The JSON request body
+     * @return The per-item result of the submission
+     * @throws BatchSizeExceededException if the batch is larger than allowed
+     * @throws MalformedBatchException if the body is not a well-formed JSON array
+     * @throws IOException if the request body cannot be read
+     */
+    public ProposalBatchResponse submitJson(InputStream inputStream) throws IOException {
+        var batch = new Batch(Math.min(maxBatchSize, 1024));
+        try (JsonParser parser = requestReader.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new MalformedBatchException("Batch must be a JSON array of proposals");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                checkBatchSize(batch.size() + 1);
+                JsonNode item = requestReader.readTree(parser);
+                try {
+                    batch.add(item == null || item.isNull() ? null : requestReader.readValue(item));
+                } catch (JsonProcessingException e) {
+                    batch.reject(Map.of(BODY_FIELD, "Malformed JSON: " + e.getOriginalMessage()));
+                }
+            }
+        } catch (StreamReadException e) {
+            throw new MalformedBatchException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        return batch.persist();
+    }
+
+    /**
+     * Submits a batch of proposals received as newline-delimited JSON. Blank
+     * lines are skipped; malformed lines are rejected like invalid items.
+     *
+     * @param inputStream The NDJSON request body
+     * @return The per-item result of the submission
+     * @throws BatchSizeExceededException if the batch is larger than allowed
+     * @throws IOException if the request body cannot be read
+     */
+    public ProposalBatchResponse submitNdjson(InputStream inputStream) throws IOException {
+        var batch = new Batch(Math.min(maxBatchSize, 1024));
+        var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            checkBatchSize(batch.size() + 1);
+            try {
+                batch.add(requestReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                batch.reject(Map.of(BODY_FIELD, "Malformed JSON: " + e.getOriginalMessage()));
+            }
+        }
+        return batch.persist();
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new BatchSizeExceededException(maxBatchSize);
+        }
+    }
+
+    /**
+     * Validates a proposal request.
+     *
+     * @param request The proposal request
+     * @return The validation errors by field, empty if the request is valid
+     */
+    private Map<String, String> validate(ProposalRequest request) {
+        if (request == null) {
+            return Map.of(BODY_FIELD, "Proposal is required");
+        }
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<ProposalRequest> violation : validator.validate(request)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    /**
+     * Accumulates the items of a batch, keeping track of their positions.
+     */
+    private final class Batch {
+        private final List<ProposalRequest> accepted;
+        private final List<Integer> acceptedIndexes;
+        private final List<ProposalBatchItemResult> results;
+
+        private Batch(int expectedSize) {
+            this.accepted = new ArrayList<>(expectedSize);
+            this.acceptedIndexes = new ArrayList<>(expectedSize);
+            this.results = new ArrayList<>(expectedSize);
+        }
+
+        private int size() {
+            return results.size();
+        }
+
+        private void add(ProposalRequest request) {
+            Map<String, String> errors = validate(request);
+            if (!errors.isEmpty()) {
+                reject(errors);
+                return;
+            }
+            acceptedIndexes.add(results.size());
+            accepted.add(request);
+            results.add(null);
+        }
+
+        private void reject(Map<String, String> errors) {
+            results.add(ProposalBatchItemResult.rejected(results.size(), errors));
+        }
+
+        private ProposalBatchResponse persist() {
+            if (!accepted.isEmpty()) {
+                Iterator<Integer> indexes = acceptedIndexes.iterator();
+                proposalService.createProposals(accepted).forEach(proposal -> {
+                    int index = indexes.next();
+                    results.set(index, ProposalBatchItemResult.created(index, proposal.getId(),
+                            proposalSubscriptionTokens.issue(proposal.getId())));
+                });
+            }
+            int rejected = results.size() - accepted.size();
+            log.info("Batch submission: {} proposals created, {} rejected", accepted.size(), rejected);
+            return new ProposalBatchResponse(accepted.size(), rejected, results);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.leonardo.propostaapp.service;
+
+import java.util.List;
+
+/**
+ * Second level of the proposal response cache: propagates invalidations to the
+ * other instances of the application so their local caches stay coherent.
+ */
+public interface ProposalCacheInvalidationBroadcaster {
+
+    /**
+     * Notifies other instances that the given proposals changed.
+     *
+     * @param ids The IDs of the changed proposals
+     */
+    void broadcast(List<Long> ids);
+}
@@ -0,0 +1,58 @@
+package com.leonardo.propostaapp.service;
+
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.metrics.ProposalTrace;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes decisions once they are stored, for the cluster fan-out mode.
+ * Every instance receives them on its own queue and delivers them to its
+ * clients, so no instance pushes, caches or hands out a decision before it is
+ * committed. Each message carries the stored version and the proposal's
+ * lifecycle trace.
+ */
+@Service
+@Slf4j
+public class ProposalDecisionPublisher {
+
+    /** Header carrying the stored version of the proposal. */
+    public static final String VERSION_HEADER = "x-proposal-version";
+
+    private static final String DEFAULT_ROUTING_KEY = "";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String exchange;
+
+    public ProposalDecisionPublisher(RabbitTemplate rabbitTemplate,
+            @Value("${rabbitmq.proposal-decision-stored.exchange:proposal-decision-stored.ex}") String exchange) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+    }
+
+    /**
+     * Publishes a stored decision to all instances. Failures are logged only:
+     * the decision is stored, and clients missing the push read it over HTTP.
+     *
+     * @param proposal The proposal, carrying its stored version
+     * @param trace The lifecycle trace of the proposal, or {@code null}
+     */
+    public void publish(Proposal proposal, ProposalTrace trace) {
+        try {
+            rabbitTemplate.convertAndSend(exchange, DEFAULT_ROUTING_KEY, proposal, message -> {
+                message.getMessageProperties().setHeader(VERSION_HEADER, proposal.getVersion());
+                if (trace != null) {
+                    trace.stamp(message.getMessageProperties());
+                }
+                return message;
+            });
+        } catch (AmqpException e) {
+            log.warn("Failed to publish stored decision of proposal {}: {}", proposal.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.leonardo.propostaapp.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.leonardo.propostaapp.dto.RenderedProposal;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of HTTP clients long-polling for the credit decision of a proposal.
+ * Waiting requests are parked as {@link DeferredResult}s keyed by proposal ID,
+ * holding neither a thread nor a database connection, and are completed by the
+ * completed-proposal listener as soon as the decision is stored. Requests that
+ * time out are answered with the proposal's current state, so a decision
+ * processed by another instance is still returned on the next poll.
+ */
+@Service
+@Slf4j
+public class ProposalDecisionWaiters {
+
+    private final ProposalService proposalService;
+    private final Map<Long, Set<DeferredResult<byte[]>>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final int maxWaiters;
+    private final long maxWaitSeconds;
+
+    public ProposalDecisionWaiters(ProposalService proposalService,
+            @Value("${proposal.decision.max-waiters:10000}") int maxWaiters,
+            @Value("${proposal.decision.max-wait-seconds:60}") long maxWaitSeconds,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.proposalService = proposalService;
+        this.maxWaiters = maxWaiters;
+        this.maxWaitSeconds = maxWaitSeconds;
+        meterRegistry.ifAvailable(this::bindMetrics);
+    }
+
+    /**
+     * Waits for the decision of a proposal. If the proposal is already decided,
+     * or no wait is requested, the result is set immediately. Otherwise the
+     * request is parked until the decision arrives or the wait elapses. When
+     * the registry is full the current state is returned right away, as a
+     * regular poll would.
+     *
+     * @param id The proposal ID
+     * @param waitSeconds How long to wait for the decision, capped at the configured maximum
+     * @return The deferred UTF-8 JSON of the proposal
+     * @throws com.leonardo.propostaapp.exception.ResourceNotFoundException if the proposal does not exist
+     */
+    public DeferredResult<byte[]> awaitDecision(Long id, long waitSeconds) {
+        var current = proposalService.getProposalById(id);
+        long wait = Math.min(Math.max(waitSeconds, 0), maxWaitSeconds);
+        var result = new DeferredResult<byte[]>(TimeUnit.SECONDS.toMillis(wait));
+        if (isDecided(current) || wait == 0) {
+            result.setResult(current.json());
+            return result;
+        }
+        if (!register(id, result)) {
+            rejected.incrementAndGet();
+            log.warn("Decision waiter registry full, answering proposal {} without waiting", id);
+            result.setResult(current.json());
+            return result;
+        }
+        result.onTimeout(() -> {
+            timedOut.incrementAndGet();
+            result.setResult(proposalService.getProposalById(id).json());
+        });
+
+        // The decision may have been stored between the first read and the
+        // registration; the listener caches it before completing waiters.
+        var latest = proposalService.getProposalById(id);
+        if (isDecided(latest)) {
+            complete(latest);
+        }
+        return result;
+    }
+
+    /**
+     * Completes the requests waiting for the given proposal, if it is decided.
+     *
+     * @param proposal The rendered proposal after its decision was stored
+     */
+    public void complete(RenderedProposal proposal) {
+        if (!isDecided(proposal)) {
+            return;
+        }
+        var parked = waiters.remove(proposal.response().id());
+        if (parked == null) {
+            return;
+        }
+        parked.forEach(result -> {
+            if (result.setResult(proposal.json())) {
+                completed.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Returns the number of requests currently waiting for a decision.
+     *
+     * @return The number of waiting requests
+     */
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    private boolean register(Long id, DeferredResult<byte[]> result) {
+        if (waiting.incrementAndGet() > maxWaiters) {
+            waiting.decrementAndGet();
+            return false;
+        }
+        waiters.computeIfAbsent(id, key -> ConcurrentHashMap.newKeySet()).add(result);
+        result.onCompletion(() -> {
+            waiting.decrementAndGet();
+            waiters.computeIfPresent(id, (key, parked) -> {
+                parked.remove(result);
+                return parked.isEmpty() ? null : parked;
+            });
+        });
+        return true;
+    }
+
+    private static boolean isDecided(RenderedProposal proposal) {
+        return proposal.response().approved() != null;
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        Gauge.builder("proposal.decision.waiters", waiting, AtomicInteger::get)
+                .description("Requests long-polling for a proposal decision")
+                .register(registry);
+        FunctionCounter.builder("proposal.decision.completions", completed, AtomicLong::get)
+                .tag("outcome", "decided")
+                .description("Long-poll decision requests by outcome")
+                .register(registry);
+        FunctionCounter.builder("proposal.decision.completions", timedOut, AtomicLong::get)
+                .tag("outcome", "timeout")
+                .description("Long-poll decision requests by outcome")
+                .register(registry);
+        FunctionCounter.builder("proposal.decision.completions", rejected, AtomicLong::get)
+                .tag("outcome", "rejected")
+                .description("Long-poll decision requests by outcome")
+                .register(registry);
+    }
+}
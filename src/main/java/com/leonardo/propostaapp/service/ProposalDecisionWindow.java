@@ -0,0 +1,62 @@
+package com.leonardo.propostaapp.service;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.leonardo.propostaapp.entity.Proposal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-memory window of the decisions recently stored for each
+ * proposal, used to drop redelivered completed-proposal messages before they
+ * reach the database. Only the latest decision per proposal is kept, so a
+ * proposal that changes back to an earlier state is still applied. The window
+ * is an optimization: the conditional update in the database remains the
+ * authority for entries that have expired or were stored by another instance.
+ */
+@Component
+public class ProposalDecisionWindow {
+
+    private final Cache<Long, Decision> applied;
+
+    public ProposalDecisionWindow(
+            @Value("${rabbitmq.listener.completed-proposal.dedup.max-size:100000}") long maxSize,
+            @Value("${rabbitmq.listener.completed-proposal.dedup.ttl-seconds:600}") long ttlSeconds) {
+        this.applied = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Tells whether the decision carried by a proposal is the one last stored
+     * for it.
+     *
+     * @param proposal The completed proposal
+     * @return Whether the decision was already applied
+     */
+    public boolean isApplied(Proposal proposal) {
+        return Decision.of(proposal).equals(applied.getIfPresent(proposal.getId()));
+    }
+
+    /**
+     * Remembers the decisions of proposals now stored in the database. Must be
+     * called only after the update has committed.
+     *
+     * @param proposals The proposals whose decisions are stored
+     */
+    public void markApplied(Collection<Proposal> proposals) {
+        proposals.forEach(proposal -> applied.put(proposal.getId(), Decision.of(proposal)));
+    }
+
+    private record Decision(Boolean approved, String observation) {
+
+        static Decision of(Proposal proposal) {
+            return new Decision(proposal.getApproved(), proposal.getObservation());
+        }
+    }
+}
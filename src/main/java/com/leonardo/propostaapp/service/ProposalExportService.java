@@ -0,0 +1,107 @@
+package com.leonardo.propostaapp.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import com.leonardo.propostaapp.dto.ProposalExportRequest;
+import com.leonardo.propostaapp.repository.ProposalExportRepository;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service exporting proposals joined with their users as CSV, streamed
+ * straight out of PostgreSQL with {@code COPY ... TO STDOUT}. Rows are neither
+ * hydrated as entities nor mapped to response DTOs, and memory use does not
+ * depend on the number of rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProposalExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** SQL expression of each exportable column, by export column name. */
+    static final Map<String, String> COLUMN_EXPRESSIONS = Map.ofEntries(
+            Map.entry("id", "p.id"),
+            Map.entry("createdAt", "p.created_at"),
+            Map.entry("proposalValue", "p.proposal_value"),
+            Map.entry("paymentTerm", "p.payment_term"),
+            Map.entry("approved", "p.approved"),
+            Map.entry("integrated", "p.integrated"),
+            Map.entry("observation", "p.observation"),
+            Map.entry("userId", "u.id"),
+            Map.entry("name", "u.name"),
+            Map.entry("lastName", "u.last_name"),
+            Map.entry("cpf", "u.cpf"),
+            Map.entry("phoneNumber", "u.phone_number"),
+            Map.entry("financialIncome", "u.financial_income"));
+
+    private final ProposalExportRepository proposalExportRepository;
+
+    /**
+     * Writes the selected proposals as CSV with a header row, ordered by ID,
+     * optionally gzip-compressed on the fly. The output stream is flushed but
+     * not closed. Runs read-only, so it is served by the replica when one is
+     * configured.
+     *
+     * @param request The export selection
+     * @param output The stream receiving the CSV
+     * @param gzip Whether to compress the CSV with gzip
+     * @return The number of exported proposals
+     * @throws IOException if writing to the output fails
+     */
+    @Transactional(readOnly = true)
+    public long export(ProposalExportRequest request, OutputStream output, boolean gzip) throws IOException {
+        long started = System.nanoTime();
+        long rows;
+        if (gzip) {
+            var compressed = new GZIPOutputStream(output, BUFFER_SIZE);
+            rows = proposalExportRepository.copyOut(copySql(request), compressed);
+            compressed.finish();
+        } else {
+            var buffered = new BufferedOutputStream(output, BUFFER_SIZE);
+            rows = proposalExportRepository.copyOut(copySql(request), buffered);
+            buffered.flush();
+        }
+        output.flush();
+        log.info("Exported {} proposals in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    /**
+     * Builds the COPY statement of an export. COPY takes no bind parameters;
+     * columns come from the whitelist and filters are rendered from booleans
+     * only.
+     *
+     * @param request The export selection
+     * @return The COPY statement
+     */
+    static String copySql(ProposalExportRequest request) {
+        String columns = request.columns().stream()
+                .map(column -> COLUMN_EXPRESSIONS.get(column) + " AS \"" + column + "\"")
+                .collect(Collectors.joining(", "));
+
+        List<String> conditions = new ArrayList<>();
+        if (request.approved() != null) {
+            conditions.add("p.approved = " + request.approved());
+        }
+        if (request.integrated() != null) {
+            conditions.add("p.integrated = " + request.integrated());
+        }
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+
+        return "COPY (SELECT " + columns + " FROM proposal p JOIN users u ON u.id = p.user_id" + where
+                + " ORDER BY p.id) TO STDOUT WITH (FORMAT csv, HEADER true)";
+    }
+}
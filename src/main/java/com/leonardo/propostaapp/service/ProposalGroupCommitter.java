@@ -0,0 +1,181 @@
+package com.leonardo.propostaapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.leonardo.propostaapp.dto.ProposalRequest;
+import com.leonardo.propostaapp.entity.Proposal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group commit for proposal creation. Concurrent callers are queued and a
+ * single writer thread persists them in windows bounded by a maximum batch size
+ * and a maximum wait, each window with one batched insert and one commit.
+ * Callers return only after the transaction holding their proposal has
+ * committed.
+ */
+@Service
+@ConditionalOnProperty(name = "proposal.group-commit.enabled", havingValue = "true")
+@Slf4j
+public class ProposalGroupCommitter {
+
+    private final ProposalService proposalService;
+    private final BlockingQueue<PendingProposal> queue;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public ProposalGroupCommitter(ProposalService proposalService,
+            @Value("${proposal.group-commit.max-batch-size:50}") int maxBatchSize,
+            @Value("${proposal.group-commit.max-wait-micros:500}") long maxWaitMicros,
+            @Value("${proposal.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.proposalService = proposalService;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.writer = Thread.ofPlatform().name("proposal-group-commit").daemon().unstarted(this::writeLoop);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+        log.info("Group commit enabled: up to {} proposals or {} µs per window", maxBatchSize,
+                TimeUnit.NANOSECONDS.toMicros(maxWaitNanos));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        List<PendingProposal> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.result().completeExceptionally(shuttingDown()));
+    }
+
+    /**
+     * Creates a proposal as part of the next group commit window, blocking
+     * until it has been committed. Queueing blocks when the intake queue is
+     * full. Proposals are rejected once the committer has been stopped.
+     *
+     * @param proposalRequest The validated proposal request DTO
+     * @return The created proposal entity
+     * @throws IllegalStateException if the committer is shutting down
+     */
+    public Proposal createProposal(ProposalRequest proposalRequest) {
+        if (!running) {
+            throw shuttingDown();
+        }
+        var pending = new PendingProposal(proposalRequest, new CompletableFuture<>());
+        try {
+            queue.put(pending);
+            // stop() may have drained the queue between the check and the put;
+            // nobody would complete a proposal left behind.
+            if (!running && queue.remove(pending)) {
+                throw shuttingDown();
+            }
+            return pending.result().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for proposal to be committed", e);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingProposal> window = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                collectWindow(window);
+                commit(window);
+            } catch (InterruptedException e) {
+                window.forEach(pending -> pending.result().completeExceptionally(shuttingDown()));
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                window.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for the first proposal of a window, then collects more until the
+     * window is full or its maximum wait has elapsed.
+     *
+     * @param window The list receiving the proposals of the window
+     * @throws InterruptedException if the writer is stopped
+     */
+    private void collectWindow(List<PendingProposal> window) throws InterruptedException {
+        window.add(queue.take());
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (window.size() < maxBatchSize) {
+            if (queue.drainTo(window, maxBatchSize - window.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingProposal next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            window.add(next);
+        }
+    }
+
+    /**
+     * Persists a window in one transaction. If the window fails as a whole,
+     * each proposal is retried on its own so one bad row does not fail the
+     * other callers.
+     *
+     * @param window The proposals of the window
+     */
+    private void commit(List<PendingProposal> window) {
+        try {
+            List<Proposal> saved = proposalService.createProposals(
+                    window.stream().map(PendingProposal::request).toList());
+            for (int i = 0; i < window.size(); i++) {
+                window.get(i).result().complete(saved.get(i));
+            }
+            log.debug("Group committed {} proposals", window.size());
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} proposals failed, retrying individually: {}", window.size(),
+                    e.getMessage());
+            window.forEach(this::commitIndividually);
+        }
+    }
+
+    private void commitIndividually(PendingProposal pending) {
+        try {
+            pending.result().complete(proposalService.createProposal(pending.request()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private static IllegalStateException shuttingDown() {
+        return new IllegalStateException("Proposal intake is shutting down");
+    }
+
+    private record PendingProposal(ProposalRequest request, CompletableFuture<Proposal> result) {
+    }
+}
@@ -0,0 +1,234 @@
+package com.leonardo.propostaapp.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import com.leonardo.propostaapp.entity.OutboxMessage;
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.exception.MessagingServiceException;
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
+import com.leonardo.propostaapp.metrics.ProposalTrace;
+import com.leonardo.propostaapp.repository.OutboxMessageRepository;
+import com.leonardo.propostaapp.repository.ProposalRepository;
+
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service implementing the transactional outbox for pending proposals.
+ * Proposals are enqueued in the caller's transaction and later relayed to
+ * RabbitMQ in claimed batches with publisher confirms. Failed messages are
+ * retried with per-row exponential backoff, so several instances can share the
+ * backlog without double-sending.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProposalOutboxService {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ProposalRepository proposalRepository;
+    private final NotificationRabbitService notificationRabbitService;
+    private final ProposalMetrics proposalMetrics;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @Value("${outbox.relay.backoff.initial-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${outbox.relay.backoff.max-ms:300000}")
+    private long maxBackoffMs;
+
+    /**
+     * Records a proposal in the outbox. Must run inside the transaction that
+     * persists the proposal so both writes commit or roll back together.
+     *
+     * @param proposal The saved proposal
+     * @param exchange The exchange the proposal will be published to
+     * @param priority The message priority
+     * @param createdAt When creation of the proposal started
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Proposal proposal, String exchange, int priority, Instant createdAt) {
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .proposalId(proposal.getId())
+                .exchange(exchange)
+                .priority(priority)
+                .attempts(0)
+                .nextAttemptAt(createdAt)
+                .createdAt(createdAt)
+                .traceId(ProposalTrace.newTraceId())
+                .build());
+        log.debug("Enqueued proposal {} in the outbox", proposal.getId());
+    }
+
+    /**
+     * Records several proposals in the outbox with one batched insert. Must run
+     * inside the transaction that persists the proposals.
+     *
+     * @param proposals The saved proposals
+     * @param exchange The exchange the proposals will be published to
+     * @param priority The message priority of each proposal
+     * @param createdAt When creation of the proposals started
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<Proposal> proposals, String exchange, ToIntFunction<Proposal> priority,
+            Instant createdAt) {
+        outboxMessageRepository.saveAll(proposals.stream()
+                .map(proposal -> OutboxMessage.builder()
+                        .proposalId(proposal.getId())
+                        .exchange(exchange)
+                        .priority(priority.applyAsInt(proposal))
+                        .attempts(0)
+                        .nextAttemptAt(createdAt)
+                        .createdAt(createdAt)
+                        .traceId(ProposalTrace.newTraceId())
+                        .build())
+                .toList());
+        log.debug("Enqueued {} proposals in the outbox", proposals.size());
+    }
+
+    /**
+     * Claims and publishes the oldest batch of due outbox messages. All messages
+     * of the batch are sent before waiting for confirms; accepted messages are
+     * removed from the outbox and their proposals marked as integrated in bulk,
+     * while the rest are rescheduled with backoff. Once a send fails, the
+     * remaining messages are not attempted; they are left due, with their
+     * attempt count unchanged, for the next batch. The claim locks are held
+     * until this transaction commits.
+     *
+     * @return The number of messages confirmed by the broker
+     */
+    @Transactional
+    public int relayBatch() {
+        var now = Instant.now();
+        List<OutboxMessage> batch = outboxMessageRepository.claimDueBatch(now, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Proposal> proposals = proposalRepository
+                .findAllWithUserByIdIn(batch.stream().map(OutboxMessage::getProposalId).toList())
+                .stream()
+                .collect(Collectors.toMap(Proposal::getId, Function.identity()));
+
+        List<Long> processedMessageIds = new ArrayList<>();
+        List<Long> attemptedMessageIds = new ArrayList<>();
+        Map<OutboxMessage, CompletableFuture<Void>> inFlight = new LinkedHashMap<>();
+
+        for (OutboxMessage message : batch) {
+            Proposal proposal = proposals.get(message.getProposalId());
+            if (proposal == null) {
+                log.warn("Discarding outbox message {} for missing proposal {}",
+                        message.getId(), message.getProposalId());
+                processedMessageIds.add(message.getId());
+                continue;
+            }
+            attemptedMessageIds.add(message.getId());
+            try {
+                var confirm = notificationRabbitService.notifyAsync(proposal, message.getExchange(),
+                        withHeaders(message));
+                inFlight.put(message, confirm);
+                confirm.thenRun(() -> proposalMetrics.recordStage(ProposalMetrics.Stage.PUBLISH,
+                        message.getCreatedAt().toEpochMilli(), System.currentTimeMillis()));
+            } catch (MessagingServiceException ex) {
+                log.error("Failed to relay proposal {}: {}", proposal.getId(), ex.getMessage());
+                break;
+            }
+        }
+
+        List<OutboxMessage> acked = awaitConfirms(inFlight);
+        acked.forEach(message -> processedMessageIds.add(message.getId()));
+        List<Long> integratedProposalIds = acked.stream().map(OutboxMessage::getProposalId).toList();
+
+        if (!processedMessageIds.isEmpty()) {
+            outboxMessageRepository.deleteByIds(processedMessageIds);
+        }
+        if (!integratedProposalIds.isEmpty()) {
+            proposalRepository.markIntegrated(integratedProposalIds);
+        }
+
+        Set<Long> processed = new HashSet<>(processedMessageIds);
+        List<Long> failedMessageIds = attemptedMessageIds.stream()
+                .filter(id -> !processed.contains(id))
+                .toList();
+        if (!failedMessageIds.isEmpty()) {
+            outboxMessageRepository.rescheduleWithBackoff(failedMessageIds, now, initialBackoffMs, maxBackoffMs);
+            proposalMetrics.outboxRescheduled(failedMessageIds.size());
+            log.warn("Rescheduled {} outbox messages after failed publish", failedMessageIds.size());
+        }
+
+        log.info("Relayed {} of {} outbox messages", integratedProposalIds.size(), batch.size());
+        return integratedProposalIds.size();
+    }
+
+    /**
+     * Waits for the broker confirms of a batch, sharing one deadline across all
+     * in-flight messages.
+     *
+     * @param inFlight The sent messages and their confirm futures
+     * @return The messages accepted by the broker
+     */
+    private List<OutboxMessage> awaitConfirms(Map<OutboxMessage, CompletableFuture<Void>> inFlight) {
+        List<OutboxMessage> acked = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+
+        for (Map.Entry<OutboxMessage, CompletableFuture<Void>> entry : inFlight.entrySet()) {
+            Long proposalId = entry.getKey().getProposalId();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                entry.getValue().get(remaining, TimeUnit.NANOSECONDS);
+                acked.add(entry.getKey());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException ex) {
+                log.error("Broker rejected proposal {}: {}", proposalId, ex.getCause().getMessage());
+            } catch (TimeoutException ex) {
+                proposalMetrics.publishFailed("confirm_timeout");
+                log.error("No confirm received for proposal {} in time", proposalId);
+            }
+        }
+        return acked;
+    }
+
+    /**
+     * Builds a message post processor setting the message priority and, when
+     * the outbox row has one, the lifecycle trace headers.
+     *
+     * @param outboxMessage The outbox message being relayed
+     * @return The message post processor
+     */
+    private MessagePostProcessor withHeaders(OutboxMessage outboxMessage) {
+        return message -> {
+            var properties = message.getMessageProperties();
+            properties.setPriority(outboxMessage.getPriority());
+            if (outboxMessage.getTraceId() != null) {
+                ProposalTrace.stampPublished(properties, outboxMessage.getTraceId(), outboxMessage.getCreatedAt());
+            }
+            return message;
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.leonardo.propostaapp.service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import com.leonardo.propostaapp.repository.ProposalPartitionRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service maintaining the monthly partitions of the proposal table: creates
+ * partitions ahead of time, so new proposals never fall into the default
+ * partition, and detaches partitions past the retention period for archival.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProposalPartitionService {
+
+    private final ProposalPartitionRepository proposalPartitionRepository;
+
+    @Value("${proposal.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${proposal.partition.retention-months:24}")
+    private int retentionMonths;
+
+    /**
+     * Creates the missing partitions up to the configured number of months
+     * ahead and detaches those older than the retention period. Each partition
+     * change runs in its own transaction; a month that fails is logged and
+     * retried on the next run. Does nothing if another instance is
+     * maintaining the partitions.
+     *
+     * @param currentMonth The current month, in UTC
+     * @return The months whose partitions were detached
+     */
+    public List<YearMonth> maintain(YearMonth currentMonth) {
+        return proposalPartitionRepository.withMaintenanceLock(() -> maintainLocked(currentMonth))
+                .orElseGet(() -> {
+                    log.debug("Proposal partition maintenance already running elsewhere");
+                    return List.of();
+                });
+    }
+
+    private List<YearMonth> maintainLocked(YearMonth currentMonth) {
+        var attached = new HashSet<>(proposalPartitionRepository.findAttachedMonths());
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            if (!attached.contains(month)) {
+                createPartition(month);
+            }
+        }
+
+        if (retentionMonths <= 0) {
+            return List.of();
+        }
+        YearMonth oldestRetained = currentMonth.minusMonths(retentionMonths);
+        List<YearMonth> expired = attached.stream().filter(month -> month.isBefore(oldestRetained)).sorted().toList();
+        var detached = new ArrayList<YearMonth>();
+        for (YearMonth month : expired) {
+            if (detachPartition(month)) {
+                detached.add(month);
+            }
+        }
+        return detached;
+    }
+
+    private void createPartition(YearMonth month) {
+        String name = ProposalPartitionRepository.partitionName(month);
+        try {
+            int moved = proposalPartitionRepository.createPartition(month);
+            if (moved > 0) {
+                log.warn("Created proposal partition {} and moved {} rows into it from the default partition",
+                        name, moved);
+            } else {
+                log.info("Created proposal partition {}", name);
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to create proposal partition {}; retrying on the next run", name, e);
+        }
+    }
+
+    private boolean detachPartition(YearMonth month) {
+        String name = ProposalPartitionRepository.partitionName(month);
+        try {
+            proposalPartitionRepository.detachPartition(month);
+            log.info("Detached proposal partition {} for archival", name);
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Failed to detach proposal partition {}; retrying on the next run", name, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.leonardo.propostaapp.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.leonardo.propostaapp.dto.RenderedProposal;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded in-process cache of rendered proposal responses, keyed by proposal
+ * ID, holding both the response and its serialized JSON. Entries expire after
+ * a fixed TTL and are invalidated whenever a proposal changes; invalidations
+ * are also sent to other instances when a
+ * {@link ProposalCacheInvalidationBroadcaster} is configured.
+ */
+@Component
+@Slf4j
+public class ProposalResponseCache {
+
+    private static final String CACHE_NAME = "proposal-responses";
+
+    private final Cache<Long, RenderedProposal> cache;
+    private final ObjectProvider<ProposalCacheInvalidationBroadcaster> broadcaster;
+
+    public ProposalResponseCache(
+            @Value("${proposal.cache.max-size:10000}") long maxSize,
+            @Value("${proposal.cache.ttl-seconds:30}") long ttlSeconds,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<ProposalCacheInvalidationBroadcaster> broadcaster) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.broadcaster = broadcaster;
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+    }
+
+    /**
+     * Returns the cached response for a proposal, loading it on a miss.
+     * Concurrent misses for the same ID share a single load; failed loads are
+     * not cached.
+     *
+     * @param id The proposal ID
+     * @param loader Function loading and rendering the response
+     * @return The rendered proposal response
+     */
+    public RenderedProposal get(Long id, Function<Long, RenderedProposal> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Stores a freshly rendered response on this instance, so a response
+     * already serialized for another channel is reused by the next read.
+     *
+     * @param id The proposal ID
+     * @param rendered The rendered proposal response
+     */
+    public void put(Long id, RenderedProposal rendered) {
+        cache.put(id, rendered);
+    }
+
+    /**
+     * Invalidates the given proposals on this and, if configured, every other
+     * instance. Inside a transaction the entries are evicted again after commit
+     * so that a read racing with the update cannot re-cache the old state.
+     *
+     * @param ids The IDs of the changed proposals
+     */
+    public void invalidate(Collection<Long> ids) {
+        List<Long> changedIds = List.copyOf(ids);
+        invalidateLocally(changedIds);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateLocally(changedIds);
+                    broadcast(changedIds);
+                }
+            });
+        } else {
+            broadcast(changedIds);
+        }
+    }
+
+    /**
+     * Evicts the given proposals from this instance only.
+     *
+     * @param ids The IDs of the changed proposals
+     */
+    public void invalidateLocally(@NonNull Collection<Long> ids) {
+        cache.invalidateAll(ids);
+        log.debug("Invalidated {} cached proposal responses", ids.size());
+    }
+
+    /**
+     * Returns the hit, miss and eviction statistics of the cache.
+     *
+     * @return The cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Sends the invalidation to other instances, if a broadcaster is present.
+     */
+    private void broadcast(List<Long> ids) {
+        broadcaster.ifAvailable(b -> b.broadcast(ids));
+    }
+}
@@ -1,19 +1,35 @@
 package com.leonardo.propostaapp.service;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import com.leonardo.propostaapp.dto.ProposalPageResponse;
 import com.leonardo.propostaapp.dto.ProposalRequest;
 import com.leonardo.propostaapp.dto.ProposalResponse;
+import com.leonardo.propostaapp.dto.ProposalVersion;
+import com.leonardo.propostaapp.dto.RenderedProposal;
 import com.leonardo.propostaapp.entity.Proposal;
-import com.leonardo.propostaapp.exception.MessagingServiceException;
 import com.leonardo.propostaapp.exception.ResourceNotFoundException;
+import com.leonardo.propostaapp.mapper.ProposalResponseMapper;
+import com.leonardo.propostaapp.mapper.ProposalResponseRenderer;
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
+import com.leonardo.propostaapp.repository.ProposalBatchRepository;
 import com.leonardo.propostaapp.repository.ProposalRepository;
 
-import org.springframework.amqp.core.MessagePostProcessor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,13 +46,22 @@ public class ProposalService {
     private static final double HIGH_INCOME_THRESHOLD = 10000.0;
 
     private final ProposalRepository proposalRepository;
-    private final NotificationRabbitService notificationRabbitService;
+    private final ProposalBatchRepository proposalBatchRepository;
+    private final ProposalOutboxService proposalOutboxService;
+    private final ProposalResponseCache proposalResponseCache;
+    private final ProposalResponseMapper proposalResponseMapper;
+    private final ProposalResponseRenderer proposalResponseRenderer;
+    private final ProposalMetrics proposalMetrics;
 
     @Value("${rabbitmq.pending-proposal.exchange}")
     private String pendingProposalExchange;
 
+    @Value("${proposal.page.max-size:500}")
+    private int maxPageSize;
+
     /**
-     * Creates a new proposal and sends notification to RabbitMQ.
+     * Creates a new proposal and records it in the outbox, in the same
+     * transaction, for asynchronous publication to RabbitMQ.
      * 
      * @param proposalRequest The proposal request DTO
      * @return The created proposal entity
@@ -44,6 +69,7 @@ public class ProposalService {
     @Transactional
     public Proposal createProposal(ProposalRequest proposalRequest) {
         log.info("Creating new proposal for user {}", proposalRequest.name());
+        var createdAt = Instant.now();
 
         var user = proposalRequest.toUser();
         var proposal = proposalRequest.toProposal(user);
@@ -53,10 +79,51 @@ public class ProposalService {
 
         log.debug("Saved proposal with ID: {}", savedProposal.getId());
 
-        notifyRabbitWithPriority(savedProposal, priority);
+        proposalOutboxService.enqueue(savedProposal, pendingProposalExchange, priority, createdAt);
+        recordPersistOnCommit(createdAt);
         return savedProposal;
     }
 
+    /**
+     * Creates several proposals in one transaction. Users, proposals and outbox
+     * rows are written with batched inserts, using IDs pre-allocated from the
+     * pooled sequences.
+     * 
+     * @param proposalRequests The validated proposal request DTOs
+     * @return The created proposal entities, in request order
+     */
+    @Transactional
+    public List<Proposal> createProposals(List<ProposalRequest> proposalRequests) {
+        log.info("Creating batch of {} proposals", proposalRequests.size());
+        var createdAt = Instant.now();
+
+        var proposals = proposalRequests.stream()
+                .map(request -> request.toProposal(request.toUser()))
+                .toList();
+        var savedProposals = proposalRepository.saveAll(proposals);
+
+        proposalOutboxService.enqueueAll(savedProposals, pendingProposalExchange,
+                proposal -> determinePriority(proposal.getUser().getFinancialIncome()), createdAt);
+        recordPersistOnCommit(createdAt);
+        return savedProposals;
+    }
+
+    /**
+     * Records the persist stage of the proposal lifecycle once the current
+     * transaction has committed.
+     * 
+     * @param createdAt When proposal creation started
+     */
+    private void recordPersistOnCommit(Instant createdAt) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                proposalMetrics.recordStage(ProposalMetrics.Stage.PERSIST, createdAt.toEpochMilli(),
+                        System.currentTimeMillis());
+            }
+        });
+    }
+
     /**
      * Determines the priority of a proposal based on financial income.
      * 
@@ -68,71 +135,148 @@ public class ProposalService {
     }
 
     /**
-     * Notifies RabbitMQ about a proposal with specified priority.
+     * Updates the approval status and observation of several proposals in a
+     * single JDBC batch, without merging the detached entities. Proposals
+     * whose stored state already matches, and proposals carrying a stale
+     * version, are skipped by the database. The changed proposals are given
+     * their new versions.
+     * 
+     * @param proposals The proposals carrying the new status
+     * @return The proposals whose stored state changed, in batch order
+     */
+    @Transactional
+    public List<Proposal> updateProposalStatuses(List<Proposal> proposals) {
+        int[] affectedRows = proposalBatchRepository.updateApprovalStatuses(proposals);
+        List<Proposal> changed = new ArrayList<>(proposals.size());
+        for (int i = 0; i < proposals.size(); i++) {
+            if (affectedRows[i] != 0) {
+                changed.add(proposals.get(i));
+            }
+        }
+        if (!changed.isEmpty()) {
+            List<Long> changedIds = changed.stream().map(Proposal::getId).toList();
+            Map<Long, Long> versions = proposalRepository.findVersionsByIdIn(changedIds).stream()
+                    .collect(Collectors.toMap(ProposalVersion::id, ProposalVersion::version));
+            changed.forEach(proposal -> proposal.setVersion(versions.get(proposal.getId())));
+            proposalResponseCache.invalidate(changedIds);
+        }
+        log.info("Updated proposal status for {} of {} proposals", changed.size(), proposals.size());
+        return changed;
+    }
+
+    /**
+     * Retrieves a page of proposals following the given cursor. Uses keyset
+     * pagination on the proposal ID so the cost does not grow with the offset.
      * 
-     * @param proposal The proposal to send
-     * @param priority The message priority
+     * @param afterId The last proposal ID of the previous page (exclusive)
+     * @param limit The requested page size, capped at the configured maximum
+     * @return The page of proposal response DTOs and the next cursor
      */
-    private void notifyRabbitWithPriority(Proposal proposal, int priority) {
-        MessagePostProcessor messagePostProcessor = message -> {
-            message.getMessageProperties().setPriority(priority);
-            return message;
-        };
+    @Transactional(readOnly = true)
+    public ProposalPageResponse getProposalPage(long afterId, int limit) {
+        int pageSize = Math.clamp(limit, 1, maxPageSize);
+        log.info("Retrieving up to {} proposals after ID {}", pageSize, afterId);
 
-        notifyRabbit(proposal, messagePostProcessor);
+        var views = proposalRepository.findViewsAfter(afterId, PageRequest.ofSize(pageSize));
+        Long nextCursor = views.size() == pageSize ? views.getLast().id() : null;
+        return new ProposalPageResponse(views.stream().map(proposalResponseMapper::toResponse).toList(), nextCursor);
     }
 
     /**
-     * Notifies RabbitMQ about a proposal with priority based on business rules.
+     * Computes the ETag of a page of proposals from a SHA-256 digest of the
+     * IDs and versions of its proposals, without joining their users.
      * 
-     * @param proposal The proposal to notify about
-     * @param messagePostProcessor Processor for setting message properties
+     * @param afterId The last proposal ID of the previous page (exclusive)
+     * @param limit The requested page size, capped at the configured maximum
+     * @return The strong ETag of the page
      */
-    private void notifyRabbit(Proposal proposal, MessagePostProcessor messagePostProcessor) {
+    @Transactional(readOnly = true)
+    public String getProposalPageETag(long afterId, int limit) {
+        int pageSize = Math.clamp(limit, 1, maxPageSize);
+        MessageDigest digest;
         try {
-            log.info("Sending proposal {} to RabbitMQ exchange {}", proposal.getId(), pendingProposalExchange);
-            notificationRabbitService.notify(proposal, pendingProposalExchange, messagePostProcessor);
-        } catch (MessagingServiceException ex) {
-            proposalRepository.updateIntegrationStatus(proposal.getId(), false);
-            throw ex;
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        var entry = ByteBuffer.allocate(2 * Long.BYTES);
+        digest.update(entry.putLong(0, pageSize).array(), 0, Long.BYTES);
+        for (ProposalVersion version : proposalRepository.findVersionsAfter(afterId, PageRequest.ofSize(pageSize))) {
+            digest.update(entry.putLong(0, version.id()).putLong(Long.BYTES, version.version()).array());
         }
+        return "\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
     }
 
-    //**
     /**
-     * Updates the status of a proposal in the database.
+     * Streams all proposals in the system to the given consumer, one row at a
+     * time, without materializing the full result.
      * 
-     * @param proposal The proposal to update
+     * @param consumer The consumer receiving each proposal response DTO
      */
-    public void updateProposalStatus(Proposal proposal) {
-        proposalRepository.save(proposal);
-        log.info("Updated proposal status for ID: {}", proposal.getId());
+    @Transactional(readOnly = true)
+    public void streamProposals(Consumer<ProposalResponse> consumer) {
+        log.info("Streaming all proposals");
+        try (var views = proposalRepository.streamAllViews()) {
+            views.map(proposalResponseMapper::toResponse).forEach(consumer);
+        }
     }
 
     /**
-     * Retrieves all proposals in the system.
+     * Retrieves a proposal by its ID. Responses are served from the proposal
+     * response cache, already serialized, and loaded from the database on a
+     * miss.
      * 
-     * @return List of proposal response DTOs
+     * @param id The proposal ID
+     * @return The rendered proposal response
+     * @throws ResourceNotFoundException if the proposal does not exist
      */
-    public List<ProposalResponse> getProposals() {
-        log.info("Retrieving all proposals");
-        return proposalRepository.findAll().stream()
-                .map(ProposalResponse::new).toList();
+    public RenderedProposal getProposalById(Long id) {
+        log.debug("Retrieving proposal with ID: {}", id);
+        return proposalResponseCache.get(id, this::loadProposalResponse);
     }
 
     /**
-     * Retrieves a proposal by its ID.
+     * Retrieves a proposal by its ID, at the given version or later. A cached
+     * response of an older or unknown version is replaced by one loaded from
+     * the database.
      * 
      * @param id The proposal ID
-     * @return Optional containing the proposal if found
+     * @param minVersion The minimum version of the response
+     * @return The rendered proposal response
      * @throws ResourceNotFoundException if the proposal does not exist
      */
-    public Optional<Proposal> getProposalById(Long id) {
-        log.info("Retrieving proposal with ID: {}", id);
-        Optional<Proposal> proposal = proposalRepository.findById(id);
-        if (proposal.isEmpty()) {
-            throw new ResourceNotFoundException("Proposal", "id", id);
+    public RenderedProposal getProposalById(Long id, long minVersion) {
+        var rendered = getProposalById(id);
+        if (rendered.version() != null && rendered.version() >= minVersion) {
+            return rendered;
         }
-        return proposal;
+        proposalResponseCache.invalidateLocally(List.of(id));
+        return getProposalById(id);
+    }
+
+    /**
+     * Retrieves the version of a proposal without loading it.
+     * 
+     * @param id The proposal ID
+     * @return The proposal version
+     * @throws ResourceNotFoundException if the proposal does not exist
+     */
+    public long getProposalVersion(Long id) {
+        return proposalRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Proposal", "id", id));
+    }
+
+    /**
+     * Loads a proposal response from the database and renders it.
+     * 
+     * @param id The proposal ID
+     * @return The rendered proposal response
+     * @throws ResourceNotFoundException if the proposal does not exist
+     */
+    private RenderedProposal loadProposalResponse(Long id) {
+        log.info("Loading proposal with ID: {}", id);
+        return proposalRepository.findViewById(id)
+                .map(view -> proposalResponseRenderer.render(proposalResponseMapper.toResponse(view), view.version()))
+                .orElseThrow(() -> new ResourceNotFoundException("Proposal", "id", id));
     }
 }
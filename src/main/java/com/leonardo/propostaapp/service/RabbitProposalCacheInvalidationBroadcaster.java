@@ -0,0 +1,78 @@
+package com.leonardo.propostaapp.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Broadcasts proposal cache invalidations through a RabbitMQ fanout exchange.
+ * Every other instance consumes them from its own auto-delete queue and evicts
+ * the proposals from its local cache. Broadcasts are stamped with the ID of
+ * the sending instance, which has already evicted them locally and skips its
+ * own, so they do not evict the entries it cached since.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "proposal.cache.distributed-invalidation.enabled", havingValue = "true")
+public class RabbitProposalCacheInvalidationBroadcaster implements ProposalCacheInvalidationBroadcaster {
+    private static final String DEFAULT_ROUTING_KEY = "";
+
+    /** Header carrying the ID of the instance that sent an invalidation. */
+    static final String ORIGIN_HEADER = "x-origin-instance";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ProposalResponseCache proposalResponseCache;
+    private final String invalidationExchange;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public RabbitProposalCacheInvalidationBroadcaster(
+            RabbitTemplate rabbitTemplate,
+            ProposalResponseCache proposalResponseCache,
+            @Value("${rabbitmq.proposal-cache-invalidation.exchange}") String invalidationExchange) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.proposalResponseCache = proposalResponseCache;
+        this.invalidationExchange = invalidationExchange;
+    }
+
+    /**
+     * Publishes the changed proposal IDs to all instances. Failures are logged
+     * only, since the local TTL still bounds staleness on other instances.
+     *
+     * @param ids The IDs of the changed proposals
+     */
+    @Override
+    public void broadcast(List<Long> ids) {
+        try {
+            rabbitTemplate.convertAndSend(invalidationExchange, DEFAULT_ROUTING_KEY, ids, message -> {
+                message.getMessageProperties().setHeader(ORIGIN_HEADER, instanceId);
+                return message;
+            });
+        } catch (AmqpException e) {
+            log.warn("Failed to broadcast invalidation of {} proposals: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Receives invalidations broadcast by any instance and evicts the proposals
+     * from the local cache, unless this instance sent them.
+     *
+     * @param ids The IDs of the changed proposals
+     * @param origin The ID of the sending instance, or null if not stamped
+     */
+    @RabbitListener(queues = "#{createProposalCacheInvalidationQueue.name}")
+    public void handleInvalidation(List<Long> ids, @Header(name = ORIGIN_HEADER, required = false) String origin) {
+        if (instanceId.equals(origin)) {
+            return;
+        }
+        proposalResponseCache.invalidateLocally(ids);
+    }
+}
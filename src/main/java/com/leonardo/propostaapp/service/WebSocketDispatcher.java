@@ -0,0 +1,217 @@
+package com.leonardo.propostaapp.service;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.leonardo.propostaapp.dto.RenderedProposal;
+import com.leonardo.propostaapp.metrics.ProposalTrace;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous stage between proposal processing and WebSocket delivery.
+ * Updates are handed off without blocking and sent by a dedicated thread, so
+ * slow clients never hold up the RabbitMQ listener. Updates are conflated per
+ * proposal: while one is waiting, a newer state replaces it and only the latest
+ * is sent. The number of waiting proposals is bounded; beyond it updates are
+ * dropped and counted, and clients can read the current state over HTTP.
+ */
+@Service
+@Slf4j
+public class WebSocketDispatcher {
+
+    private final WebSocketService webSocketService;
+    private final Map<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<Long> ready;
+    private final Thread sender;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong conflated = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong slowSessionsClosed = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public WebSocketDispatcher(WebSocketService webSocketService,
+            @Value("${websocket.dispatch.max-pending:10000}") int maxPending,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.webSocketService = webSocketService;
+        this.ready = new LinkedBlockingQueue<>(maxPending);
+        this.sender = Thread.ofPlatform().name("websocket-dispatch").daemon().unstarted(this::sendLoop);
+        meterRegistry.ifAvailable(this::bindMetrics);
+    }
+
+    @PostConstruct
+    void start() {
+        sender.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        sender.interrupt();
+        sender.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Queues a proposal update for WebSocket delivery without blocking. If an
+     * update for the same proposal is still waiting, it is replaced.
+     *
+     * @param proposal The rendered proposal response to send to clients
+     */
+    public void dispatch(RenderedProposal proposal) {
+        dispatch(proposal, null);
+    }
+
+    /**
+     * Queues a proposal update for WebSocket delivery without blocking,
+     * together with its lifecycle trace. If an update for the same proposal is
+     * still waiting, it is replaced along with its trace.
+     *
+     * @param proposal The rendered proposal response to send to clients
+     * @param trace The lifecycle trace of the update, or {@code null}
+     */
+    public void dispatch(RenderedProposal proposal, ProposalTrace trace) {
+        Long id = proposal.response().id();
+        if (pending.put(id, new PendingUpdate(proposal, trace)) != null) {
+            conflated.incrementAndGet();
+            return;
+        }
+        if (!ready.offer(id)) {
+            pending.remove(id);
+            dropped.incrementAndGet();
+            log.warn("WebSocket dispatch queue full, dropped update for proposal {}", id);
+        }
+    }
+
+    /**
+     * Counts sessions closed by the transport because they exceeded the send
+     * time or buffer size limit.
+     *
+     * @param event The session disconnect event
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        if (CloseStatus.SESSION_NOT_RELIABLE.equals(event.getCloseStatus())) {
+            slowSessionsClosed.incrementAndGet();
+            log.warn("Closed slow WebSocket session {}", event.getSessionId());
+        }
+    }
+
+    /**
+     * Returns the number of proposals waiting to be sent.
+     *
+     * @return The dispatch queue depth
+     */
+    public int getQueueDepth() {
+        return ready.size();
+    }
+
+    /**
+     * Returns the number of updates sent to the broker.
+     *
+     * @return The sent update count
+     */
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    /**
+     * Returns the number of updates replaced by a newer state before sending.
+     *
+     * @return The conflated update count
+     */
+    public long getConflatedCount() {
+        return conflated.get();
+    }
+
+    /**
+     * Returns the number of updates dropped because the queue was full.
+     *
+     * @return The dropped update count
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the number of updates that failed to send.
+     *
+     * @return The failed update count
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Returns the number of sessions closed for exceeding the send limits.
+     *
+     * @return The closed session count
+     */
+    public long getSlowSessionsClosedCount() {
+        return slowSessionsClosed.get();
+    }
+
+    private void sendLoop() {
+        while (running) {
+            PendingUpdate update;
+            try {
+                update = pending.remove(ready.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (update == null) {
+                continue;
+            }
+            try {
+                webSocketService.notify(update.proposal(), update.trace());
+                sent.incrementAndGet();
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.error("Error notifying clients about proposal {}: {}", update.proposal().response().id(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        Gauge.builder("websocket.dispatch.queue.depth", ready, BlockingQueue::size)
+                .description("Proposal updates waiting for WebSocket delivery")
+                .register(registry);
+        bindCounter(registry, "sent", sent);
+        bindCounter(registry, "conflated", conflated);
+        bindCounter(registry, "dropped", dropped);
+        bindCounter(registry, "failed", failed);
+        FunctionCounter.builder("websocket.sessions.closed.slow", slowSessionsClosed, AtomicLong::get)
+                .description("WebSocket sessions closed for exceeding the send time or buffer limit")
+                .register(registry);
+    }
+
+    private record PendingUpdate(RenderedProposal proposal, ProposalTrace trace) {
+    }
+
+    private static void bindCounter(MeterRegistry registry, String outcome, AtomicLong count) {
+        FunctionCounter.builder("websocket.dispatch.updates", count, AtomicLong::get)
+                .tag("outcome", outcome)
+                .description("Proposal updates handled by the WebSocket dispatch stage, by outcome")
+                .register(registry);
+    }
+}
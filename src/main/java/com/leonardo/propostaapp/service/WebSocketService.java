@@ -1,11 +1,18 @@
 package com.leonardo.propostaapp.service;
 
-import com.leonardo.propostaapp.dto.ProposalResponse;
+import com.leonardo.propostaapp.dto.RenderedProposal;
 import com.leonardo.propostaapp.exception.MessagingServiceException;
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
+import com.leonardo.propostaapp.metrics.ProposalTrace;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,27 +25,60 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class WebSocketService {
     private static final String PROPOSALS_DESTINATION = "/proposals";
+    private static final String PROPOSAL_DESTINATION_PREFIX = PROPOSALS_DESTINATION + "/";
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final ProposalMetrics proposalMetrics;
+
+    @Value("${websocket.proposals.broadcast-enabled:false}")
+    private boolean broadcastEnabled;
 
     /**
-     * Sends a proposal update notification to all connected WebSocket clients.
+     * Sends a proposal update notification to the WebSocket clients subscribed
+     * to that proposal at {@code /proposals/{id}}, and to every client on the
+     * legacy {@code /proposals} topic while broadcasting is enabled. The
+     * pre-rendered JSON is sent as is, without another serialization.
      *
-     * @param proposal The proposal response to send to clients
+     * @param proposal The rendered proposal response to send to clients
      * @throws MessagingServiceException if there's an error sending the message
      */
-    public void notify(ProposalResponse proposal) {
+    public void notify(RenderedProposal proposal) {
+        notify(proposal, null);
+    }
+
+    /**
+     * Sends a proposal update notification like {@link #notify(RenderedProposal)}
+     * and closes its lifecycle trace once the update has been pushed.
+     *
+     * @param proposal The rendered proposal response to send to clients
+     * @param trace The lifecycle trace of the update, or {@code null}
+     * @throws MessagingServiceException if there's an error sending the message
+     */
+    public void notify(RenderedProposal proposal, ProposalTrace trace) {
         try {
-            log.debug("Sending WebSocket notification for proposal: {}/{}",
-                    proposal.name(), proposal.lastName());
+            log.debug("Sending WebSocket notification for proposal: {}", proposal.response().id());
+            long start = System.nanoTime();
 
-            messagingTemplate.convertAndSend(PROPOSALS_DESTINATION, proposal);
+            send(PROPOSAL_DESTINATION_PREFIX + proposal.response().id(), proposal.json());
+            if (broadcastEnabled) {
+                send(PROPOSALS_DESTINATION, proposal.json());
+            }
+            proposalMetrics.recordWebSocketSend(start);
+            if (trace != null) {
+                proposalMetrics.recordPushed(trace, System.currentTimeMillis());
+            }
 
-            log.info("Successfully sent WebSocket notification for proposal: {}",
-                    proposal.name());
+            log.info("Successfully sent WebSocket notification for proposal: {}", proposal.response().id());
         } catch (MessagingException e) {
             log.error("Failed to send WebSocket notification: {}", e.getMessage(), e);
             throw new MessagingServiceException("Failed to send WebSocket notification", e);
         }
     }
+
+    private void send(String destination, byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+    }
 }
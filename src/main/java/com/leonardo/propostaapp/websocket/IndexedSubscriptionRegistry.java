@@ -0,0 +1,123 @@
+package com.leonardo.propostaapp.websocket;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+
+/**
+ * Subscription registry indexing subscriptions by exact destination, so a
+ * message for {@code /proposals/{id}} is matched against the sessions
+ * subscribed to that proposal only, instead of scanning every subscription.
+ * Pattern and selector subscriptions are rare here and are handed to a
+ * {@link DefaultSubscriptionRegistry}, which is skipped entirely while none
+ * exist. Clients cannot create them; {@link ProposalSubscriptionInterceptor}
+ * rejects such subscriptions before they reach the broker.
+ */
+public class IndexedSubscriptionRegistry extends AbstractSubscriptionRegistry {
+
+    private static final String SELECTOR_HEADER = "selector";
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final DefaultSubscriptionRegistry patternRegistry = new DefaultSubscriptionRegistry();
+
+    /** Destination to session ID to subscription IDs. */
+    private final Map<String, Map<String, Set<String>>> subscriptionsByDestination = new ConcurrentHashMap<>();
+
+    /** Session ID to subscription ID to destination, for indexed subscriptions. */
+    private final Map<String, Map<String, String>> destinationsBySession = new ConcurrentHashMap<>();
+
+    /** Session ID to subscription IDs, for subscriptions held by the pattern registry. */
+    private final Map<String, Set<String>> patternSubscriptionsBySession = new ConcurrentHashMap<>();
+
+    @Override
+    protected void addSubscriptionInternal(@NonNull String sessionId, @NonNull String subscriptionId,
+            @NonNull String destination, @NonNull Message<?> message) {
+        if (pathMatcher.isPattern(destination)
+                || SimpMessageHeaderAccessor.getFirstNativeHeader(SELECTOR_HEADER, message.getHeaders()) != null) {
+            patternRegistry.registerSubscription(message);
+            patternSubscriptionsBySession.computeIfAbsent(sessionId, key -> ConcurrentHashMap.newKeySet())
+                    .add(subscriptionId);
+            return;
+        }
+        destinationsBySession.computeIfAbsent(sessionId, key -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        subscriptionsByDestination.compute(destination, (key, sessions) -> {
+            Map<String, Set<String>> result = sessions != null ? sessions : new ConcurrentHashMap<>();
+            result.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(subscriptionId);
+            return result;
+        });
+    }
+
+    @Override
+    protected void removeSubscriptionInternal(@NonNull String sessionId, @NonNull String subscriptionId,
+            @NonNull Message<?> message) {
+        Map<String, String> destinations = destinationsBySession.get(sessionId);
+        String destination = destinations != null ? destinations.remove(subscriptionId) : null;
+        if (destination != null) {
+            removeFromDestination(destination, sessionId, subscriptionId);
+            return;
+        }
+        Set<String> patternSubscriptions = patternSubscriptionsBySession.get(sessionId);
+        if (patternSubscriptions != null && patternSubscriptions.remove(subscriptionId)) {
+            patternRegistry.unregisterSubscription(message);
+        }
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(@NonNull String sessionId) {
+        Map<String, String> destinations = destinationsBySession.remove(sessionId);
+        if (destinations != null) {
+            destinations.forEach((subscriptionId, destination) ->
+                    removeFromDestination(destination, sessionId, subscriptionId));
+        }
+        if (patternSubscriptionsBySession.remove(sessionId) != null) {
+            patternRegistry.unregisterAllSubscriptions(sessionId);
+        }
+    }
+
+    @Override
+    @NonNull
+    protected MultiValueMap<String, String> findSubscriptionsInternal(@NonNull String destination,
+            @NonNull Message<?> message) {
+        MultiValueMap<String, String> result = new LinkedMultiValueMap<>();
+        Map<String, Set<String>> sessions = subscriptionsByDestination.get(destination);
+        if (sessions != null) {
+            sessions.forEach((sessionId, subscriptionIds) -> result.put(sessionId, new ArrayList<>(subscriptionIds)));
+        }
+        if (!patternSubscriptionsBySession.isEmpty()) {
+            patternRegistry.findSubscriptions(message).forEach((sessionId, subscriptionIds) ->
+                    result.computeIfAbsent(sessionId, id -> new ArrayList<>()).addAll(subscriptionIds));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of distinct destinations with indexed subscriptions.
+     *
+     * @return The number of indexed destinations
+     */
+    public int getIndexedDestinationCount() {
+        return subscriptionsByDestination.size();
+    }
+
+    private void removeFromDestination(String destination, String sessionId, String subscriptionId) {
+        subscriptionsByDestination.computeIfPresent(destination, (key, sessions) -> {
+            sessions.computeIfPresent(sessionId, (id, subscriptionIds) -> {
+                subscriptionIds.remove(subscriptionId);
+                return subscriptionIds.isEmpty() ? null : subscriptionIds;
+            });
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+}
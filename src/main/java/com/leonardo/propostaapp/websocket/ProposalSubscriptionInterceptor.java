@@ -0,0 +1,95 @@
+package com.leonardo.propostaapp.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inbound STOMP interceptor keeping each customer's proposal updates private.
+ * A SUBSCRIBE to {@code /proposals/{id}} must carry the proposal's
+ * subscription token in the {@value ProposalSubscriptionTokens#HEADER}
+ * header. Pattern and selector subscriptions, other destinations under
+ * {@code /proposals} and client SENDs to the broker are rejected. The legacy
+ * {@code /proposals} topic is only open while broadcasting is enabled.
+ * Rejections are reported to the client as a STOMP ERROR frame.
+ */
+@Component
+@Slf4j
+public class ProposalSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final String PROPOSALS_DESTINATION = "/proposals";
+    private static final String PROPOSAL_DESTINATION_PREFIX = PROPOSALS_DESTINATION + "/";
+    private static final String SELECTOR_HEADER = "selector";
+
+    private final ProposalSubscriptionTokens tokens;
+    private final boolean broadcastEnabled;
+
+    public ProposalSubscriptionInterceptor(ProposalSubscriptionTokens tokens,
+            @Value("${websocket.proposals.broadcast-enabled:false}") boolean broadcastEnabled) {
+        this.tokens = tokens;
+        this.broadcastEnabled = broadcastEnabled;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            checkSubscription(accessor);
+        } else if (StompCommand.SEND.equals(accessor.getCommand()) && isBrokerDestination(accessor.getDestination())) {
+            throw reject(accessor, "Clients cannot send to " + accessor.getDestination());
+        }
+        return message;
+    }
+
+    private void checkSubscription(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null || accessor.getFirstNativeHeader(SELECTOR_HEADER) != null) {
+            throw reject(accessor, "Subscription to " + destination + " is not allowed");
+        }
+        if (destination.equals(PROPOSALS_DESTINATION) && broadcastEnabled) {
+            return;
+        }
+        Long proposalId = destination.startsWith(PROPOSAL_DESTINATION_PREFIX)
+                ? parseId(destination.substring(PROPOSAL_DESTINATION_PREFIX.length()))
+                : null;
+        if (proposalId == null) {
+            throw reject(accessor, "Subscription to " + destination + " is not allowed");
+        }
+        if (!tokens.verify(proposalId, accessor.getFirstNativeHeader(ProposalSubscriptionTokens.HEADER))) {
+            throw reject(accessor, "Missing or invalid subscription token for proposal " + proposalId);
+        }
+    }
+
+    private static boolean isBrokerDestination(String destination) {
+        return destination != null
+                && (destination.equals(PROPOSALS_DESTINATION) || destination.startsWith(PROPOSAL_DESTINATION_PREFIX));
+    }
+
+    /**
+     * Parses a proposal ID, accepting plain decimal digits only so that
+     * patterns such as {@code *} or {@code 1*} never pass.
+     */
+    private static Long parseId(String value) {
+        if (value.isEmpty() || value.length() > 18 || !value.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Long.valueOf(value);
+    }
+
+    private static MessageDeliveryException reject(StompHeaderAccessor accessor, String reason) {
+        log.warn("Rejected STOMP {} from session {}: {}", accessor.getCommand(), accessor.getSessionId(), reason);
+        return new MessageDeliveryException(reason);
+    }
+}
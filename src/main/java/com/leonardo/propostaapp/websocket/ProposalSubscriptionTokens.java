@@ -0,0 +1,88 @@
+package com.leonardo.propostaapp.websocket;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues and verifies the tokens that entitle a WebSocket client to follow a
+ * proposal. A token is an HMAC of the proposal ID, handed to the customer when
+ * the proposal is created, so knowing or guessing an ID is not enough to
+ * receive its updates. All instances must share the secret; without one, a
+ * random secret is generated and tokens are only valid on this instance.
+ */
+@Component
+@Slf4j
+public class ProposalSubscriptionTokens {
+
+    /** HTTP response header and STOMP SUBSCRIBE header carrying the token. */
+    public static final String HEADER = "Proposal-Subscription-Token";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    public ProposalSubscriptionTokens(@Value("${websocket.subscription-token.secret:}") String secret) {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            log.warn("No websocket.subscription-token.secret configured; subscription tokens are only valid "
+                    + "on this instance");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    /**
+     * Issues the subscription token of a proposal.
+     *
+     * @param proposalId The proposal ID
+     * @return The token, URL-safe Base64 without padding
+     */
+    public String issue(long proposalId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac(proposalId));
+    }
+
+    /**
+     * Checks a subscription token in constant time.
+     *
+     * @param proposalId The proposal ID
+     * @param token The token presented by the client, possibly null
+     * @return true if the token was issued for the proposal
+     */
+    public boolean verify(long proposalId, String token) {
+        if (token == null) {
+            return false;
+        }
+        byte[] presented;
+        try {
+            presented = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(mac(proposalId), presented);
+    }
+
+    private byte[] mac(long proposalId) {
+        try {
+            // Mac instances are not thread-safe, and creating one is cheap next to a subscription.
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(Long.toString(proposalId).getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot compute proposal subscription token", e);
+        }
+    }
+}
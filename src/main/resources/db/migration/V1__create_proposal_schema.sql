@@ -0,0 +1,78 @@
+-- Proposal schema. Identifiers come from pooled sequences, matching the
+-- allocationSize of the entities. The proposal table is range partitioned by
+-- month on created_at; partitions are created ahead of time and detached for
+-- archival by the partition maintenance job.
+
+CREATE SEQUENCE users_id_seq INCREMENT BY 50;
+CREATE SEQUENCE proposal_id_seq INCREMENT BY 50;
+CREATE SEQUENCE proposal_outbox_id_seq INCREMENT BY 50;
+
+CREATE TABLE users (
+    id               BIGINT           NOT NULL,
+    name             VARCHAR(255),
+    last_name        VARCHAR(255),
+    cpf              VARCHAR(255),
+    phone_number     VARCHAR(255),
+    financial_income DOUBLE PRECISION,
+    CONSTRAINT pk_users PRIMARY KEY (id)
+);
+
+-- CPF lookups.
+CREATE INDEX idx_users_cpf ON users (cpf);
+
+-- The partition key must be part of every unique constraint of a partitioned
+-- table, so the primary key is (id, created_at). IDs stay unique through the
+-- sequence.
+CREATE TABLE proposal (
+    id             BIGINT                      NOT NULL,
+    proposal_value DOUBLE PRECISION,
+    payment_term   INTEGER                     NOT NULL,
+    approved       BOOLEAN,
+    integrated     BOOLEAN                     NOT NULL,
+    observation    VARCHAR(255),
+    user_id        BIGINT,
+    created_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_proposal PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_proposal_user FOREIGN KEY (user_id) REFERENCES users (id)
+) PARTITION BY RANGE (created_at);
+
+-- Catches rows outside the created partitions. Stays empty as long as the
+-- maintenance job creates partitions ahead of time.
+CREATE TABLE proposal_default PARTITION OF proposal DEFAULT;
+
+-- Lookups by ID without the partition key probe this index on each partition.
+CREATE INDEX idx_proposal_id ON proposal (id);
+CREATE INDEX idx_proposal_user_id ON proposal (user_id);
+-- Only the small non-integrated backlog is indexed.
+CREATE INDEX idx_proposal_not_integrated ON proposal (id) WHERE integrated = false;
+CREATE INDEX idx_proposal_approved ON proposal (approved);
+
+-- Partitions for the current and the next two months. Bounds are month starts
+-- in UTC, the same convention as the partition maintenance job.
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    FOR i IN 0..2 LOOP
+        month := date_trunc('month', now() AT TIME ZONE 'UTC')::date + make_interval(months => i);
+        EXECUTE format('CREATE TABLE %I PARTITION OF proposal FOR VALUES FROM (%L) TO (%L)',
+                'proposal_p' || to_char(month, 'YYYY_MM'),
+                to_char(month, 'YYYY-MM-DD') || ' 00:00:00+00',
+                to_char(month + INTERVAL '1 month', 'YYYY-MM-DD') || ' 00:00:00+00');
+    END LOOP;
+END $$;
+
+CREATE TABLE proposal_outbox (
+    id              BIGINT                      NOT NULL,
+    proposal_id     BIGINT,
+    exchange        VARCHAR(255),
+    priority        INTEGER                     NOT NULL,
+    attempts        INTEGER                     NOT NULL,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE,
+    created_at      TIMESTAMP(6) WITH TIME ZONE,
+    trace_id        VARCHAR(36),
+    CONSTRAINT pk_proposal_outbox PRIMARY KEY (id),
+    CONSTRAINT uk_proposal_outbox_proposal_id UNIQUE (proposal_id)
+);
+
+CREATE INDEX idx_proposal_outbox_next_attempt_at ON proposal_outbox (next_attempt_at);
@@ -0,0 +1,3 @@
+-- Optimistic locking and ETag version of a proposal. Bumped whenever the
+-- state returned to clients changes; the integration flag does not count.
+ALTER TABLE proposal ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
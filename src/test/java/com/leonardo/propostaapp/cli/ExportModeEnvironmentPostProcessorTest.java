@@ -0,0 +1,40 @@
+package com.leonardo.propostaapp.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Tests for {@link ExportModeEnvironmentPostProcessor}.
+ */
+class ExportModeEnvironmentPostProcessorTest {
+
+    private final ExportModeEnvironmentPostProcessor postProcessor = new ExportModeEnvironmentPostProcessor();
+
+    @Test
+    void turnsOffServerListenersAndJobsWhenExporting() {
+        var environment = new MockEnvironment()
+                .withProperty("proposal.export.output", "proposals.csv.gz")
+                .withProperty("outbox.relay.enabled", "true");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.getProperty("spring.main.web-application-type")).isEqualTo("none");
+        assertThat(environment.getProperty("spring.rabbitmq.listener.simple.auto-startup")).isEqualTo("false");
+        assertThat(environment.getProperty("outbox.relay.enabled")).isEqualTo("false");
+        assertThat(environment.getProperty("proposal.partition.maintenance.enabled")).isEqualTo("false");
+        assertThat(environment.getProperty("scheduling.enabled")).isEqualTo("false");
+    }
+
+    @Test
+    void leavesTheEnvironmentAloneWithoutAnExportOutput() {
+        var environment = new MockEnvironment().withProperty("proposal.export.output", " ");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.getPropertySources()
+                .contains(ExportModeEnvironmentPostProcessor.PROPERTY_SOURCE_NAME)).isFalse();
+    }
+}
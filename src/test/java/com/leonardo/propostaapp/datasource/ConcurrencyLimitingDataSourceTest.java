@@ -0,0 +1,68 @@
+package com.leonardo.propostaapp.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+/**
+ * Tests for {@link ConcurrencyLimitingDataSource}.
+ */
+class ConcurrencyLimitingDataSourceTest {
+
+    private DataSource target;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void borrowingBeyondTheLimitTimesOut() throws SQLException {
+        var dataSource = new ConcurrencyLimitingDataSource(target, 1, 10);
+
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void closingAConnectionReleasesItsPermitOnce() throws SQLException {
+        var dataSource = new ConcurrencyLimitingDataSource(target, 2, 10);
+
+        Connection borrowed = dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+
+        borrowed.close();
+        borrowed.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+        assertThat(((ConnectionProxy) borrowed).getTargetConnection()).isSameAs(connection);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void failedBorrowReleasesItsPermit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        var dataSource = new ConcurrencyLimitingDataSource(target, 1, 10);
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.leonardo.propostaapp.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests for {@link ReadWriteRoutingDataSource} behind the lazy connection proxy
+ * it is deployed with, using stand-in primary and replica data sources.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReadWriteRoutingDataSource routingDataSource;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = standIn();
+        replica = standIn();
+        routingDataSource = new ReadWriteRoutingDataSource(primary, replica);
+        dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() throws SQLException {
+        runInTransaction(true);
+
+        verify(replica).getConnection();
+        assertThat(routingDataSource.getReplicaRouteCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writeTransactionsUseThePrimary() throws SQLException {
+        runInTransaction(false);
+
+        verify(replica, never()).getConnection();
+        assertThat(routingDataSource.getReplicaRouteCount()).isZero();
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToThePrimaryWhileTheReplicaIsUnavailable() throws SQLException {
+        routingDataSource.setReplicaAvailable(false);
+
+        runInTransaction(true);
+
+        verify(replica, never()).getConnection();
+        assertThat(routingDataSource.getFallbackRouteCount()).isEqualTo(1);
+
+        routingDataSource.setReplicaAvailable(true);
+        runInTransaction(true);
+
+        verify(replica).getConnection();
+    }
+
+    private void runInTransaction(boolean readOnly) {
+        var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                DataSourceUtils.getConnection(dataSource).createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static DataSource standIn() throws SQLException {
+        DataSource standIn = mock(DataSource.class);
+        when(standIn.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        return standIn;
+    }
+}
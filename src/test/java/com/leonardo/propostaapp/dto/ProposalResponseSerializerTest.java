@@ -0,0 +1,48 @@
+package com.leonardo.propostaapp.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ProposalResponseSerializer}.
+ */
+class ProposalResponseSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesAllFieldsLikeReflectiveRecordSerialization() throws Exception {
+        var response = new ProposalResponse(1L, "JOHN", "DOE", "5511987654321", "123.456.789-00", 5000.0,
+                "$10,000.00", 36, true, "Approved \"fast\"");
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(response));
+
+        assertThat(json.get("id").asLong()).isEqualTo(1L);
+        assertThat(json.get("name").asText()).isEqualTo("JOHN");
+        assertThat(json.get("lastName").asText()).isEqualTo("DOE");
+        assertThat(json.get("phoneNumber").asText()).isEqualTo("5511987654321");
+        assertThat(json.get("cpf").asText()).isEqualTo("123.456.789-00");
+        assertThat(json.get("financialIncome").asDouble()).isEqualTo(5000.0);
+        assertThat(json.get("proposalValueFormatted").asText()).isEqualTo("$10,000.00");
+        assertThat(json.get("paymentTerm").asInt()).isEqualTo(36);
+        assertThat(json.get("approved").asBoolean()).isTrue();
+        assertThat(json.get("observation").asText()).isEqualTo("Approved \"fast\"");
+        assertThat(json.size()).isEqualTo(10);
+    }
+
+    @Test
+    void writesNullsForPendingProposals() throws Exception {
+        var response = new ProposalResponse(1L, "JOHN", "DOE", "5511987654321", "123.456.789-00", null,
+                "$10,000.00", 36, null, null);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(response));
+
+        assertThat(json.get("financialIncome").isNull()).isTrue();
+        assertThat(json.get("approved").isNull()).isTrue();
+        assertThat(json.get("observation").isNull()).isTrue();
+    }
+}
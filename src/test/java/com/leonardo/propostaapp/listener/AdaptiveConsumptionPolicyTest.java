@@ -0,0 +1,85 @@
+package com.leonardo.propostaapp.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.leonardo.propostaapp.listener.AdaptiveConsumptionPolicy.Bounds;
+import com.leonardo.propostaapp.listener.AdaptiveConsumptionPolicy.Settings;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AdaptiveConsumptionPolicy}, including a simulation against
+ * a stand-in broker receiving a credit-analysis burst.
+ */
+class AdaptiveConsumptionPolicyTest {
+
+    private static final Bounds BOUNDS = new Bounds(1, 16, 10, 160, 1000, 100, 0.3, 2, 6);
+    private static final int MESSAGES_PER_WORKER_AND_SAMPLE = 150;
+
+    @Test
+    void ignoresASingleSpikeAndScalesUpOnSustainedDepth() {
+        var policy = new AdaptiveConsumptionPolicy(BOUNDS);
+
+        assertThat(policy.evaluate(5000, 1.0)).isEqualTo(new Settings(1, 10));
+        assertThat(policy.evaluate(500, 0.5)).isEqualTo(new Settings(1, 10));
+        assertThat(policy.evaluate(5000, 1.0)).isEqualTo(new Settings(1, 10));
+        assertThat(policy.evaluate(5000, 1.0)).isEqualTo(new Settings(2, 20));
+    }
+
+    @Test
+    void holdsCapacityInsideTheDeadBand() {
+        var policy = new AdaptiveConsumptionPolicy(BOUNDS);
+        policy.evaluate(5000, 1.0);
+        policy.evaluate(5000, 1.0);
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(policy.evaluate(500, 0.1)).isEqualTo(new Settings(2, 20));
+            assertThat(policy.evaluate(50, 0.9)).isEqualTo(new Settings(2, 20));
+        }
+    }
+
+    @Test
+    void rejectsOverlappingThresholds() {
+        assertThatThrownBy(() -> new Bounds(1, 16, 10, 160, 100, 100, 0.3, 2, 6))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void followsABurstUpAndBackDownWithoutFlapping() {
+        var policy = new AdaptiveConsumptionPolicy(BOUNDS);
+        List<Settings> trail = new ArrayList<>();
+        long depth = 0;
+        Settings settings = policy.getCurrent();
+        int changesBeforeBurst = 0;
+
+        for (int sample = 0; sample < 300; sample++) {
+            boolean burst = sample >= 60 && sample < 100;
+            long arrivals = burst ? 2000 : 20;
+            long capacity = (long) settings.workers() * MESSAGES_PER_WORKER_AND_SAMPLE;
+            long processed = Math.min(depth + arrivals, capacity);
+            depth = depth + arrivals - processed;
+
+            Settings next = policy.evaluate(depth, processed / (double) capacity);
+            if (!next.equals(settings)) {
+                trail.add(next);
+                if (sample < 60) {
+                    changesBeforeBurst++;
+                }
+            }
+            settings = next;
+            assertThat(settings.workers()).isBetween(BOUNDS.minWorkers(), BOUNDS.maxWorkers());
+            assertThat(settings.batchSize()).isBetween(BOUNDS.minBatchSize(), BOUNDS.maxBatchSize());
+        }
+
+        assertThat(changesBeforeBurst).isZero();
+        assertThat(depth).isZero();
+        // Four doublings up and four halvings down; anything more is flapping.
+        assertThat(trail).containsExactly(
+                new Settings(2, 20), new Settings(4, 40), new Settings(8, 80), new Settings(16, 160),
+                new Settings(8, 80), new Settings(4, 40), new Settings(2, 20), new Settings(1, 10));
+    }
+}
@@ -0,0 +1,192 @@
+package com.leonardo.propostaapp.listener;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.leonardo.propostaapp.dto.ProposalResponse;
+import com.leonardo.propostaapp.dto.RenderedProposal;
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.mapper.ProposalResponseMapper;
+import com.leonardo.propostaapp.mapper.ProposalResponseRenderer;
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
+import com.leonardo.propostaapp.service.ProposalDecisionPublisher;
+import com.leonardo.propostaapp.service.ProposalDecisionWaiters;
+import com.leonardo.propostaapp.service.ProposalDecisionWindow;
+import com.leonardo.propostaapp.service.ProposalResponseCache;
+import com.leonardo.propostaapp.service.ProposalService;
+import com.leonardo.propostaapp.service.WebSocketDispatcher;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Multi-instance test of WebSocket delivery for completed proposals. Several
+ * application instances share a stand-in database and are connected through
+ * an in-process stand-in broker: completed proposals go to one shared,
+ * competing-consumer queue and, in cluster fan-out mode, the decisions stored
+ * from it go to one exclusive queue per instance.
+ */
+class ClusterFanoutTest {
+
+    private static final int INSTANCES = 3;
+
+    private final ProposalService database = mock(ProposalService.class);
+    private final ProposalResponseMapper proposalResponseMapper = mock(ProposalResponseMapper.class);
+    private final ProposalResponseRenderer proposalResponseRenderer = mock(ProposalResponseRenderer.class);
+    private final ProposalDecisionPublisher publisher = mock(ProposalDecisionPublisher.class);
+    private final StandInBroker broker = new StandInBroker();
+    private final List<ProposalDecisionWaiters> waiters = new ArrayList<>();
+    private long storedVersion;
+    private final List<WebSocketDispatcher> dispatchers = new ArrayList<>();
+    private final List<ProposalResponseCache> caches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(database.updateProposalStatuses(anyList())).thenAnswer(invocation -> {
+            List<Proposal> proposals = invocation.getArgument(0);
+            proposals.forEach(proposal -> proposal.setVersion(++storedVersion));
+            return proposals;
+        });
+        doAnswer(invocation -> {
+            Proposal proposal = invocation.getArgument(0);
+            broker.publishStored(MessageBuilder.withPayload(proposal)
+                    .setHeader(ProposalDecisionPublisher.VERSION_HEADER, proposal.getVersion())
+                    .build());
+            return null;
+        }).when(publisher).publish(any(), any());
+        when(proposalResponseMapper.toResponse(any(Proposal.class))).thenAnswer(invocation -> {
+            Proposal proposal = invocation.getArgument(0);
+            return new ProposalResponse(proposal.getId(), null, null, null, null, null, null, 0,
+                    proposal.getApproved(), proposal.getObservation());
+        });
+        when(proposalResponseRenderer.render(any(), any())).thenAnswer(
+                invocation -> new RenderedProposal(invocation.getArgument(0), new byte[0], invocation.getArgument(1)));
+    }
+
+    @Test
+    void withoutFanoutOnlyTheConsumingInstanceNotifiesItsClients() {
+        startInstances(false);
+
+        broker.publish(completed(1L, true));
+
+        verify(dispatchers.get(0)).dispatch(any(RenderedProposal.class), any());
+        verify(dispatchers.get(1), never()).dispatch(any(RenderedProposal.class), any());
+        verify(dispatchers.get(2), never()).dispatch(any(RenderedProposal.class), any());
+    }
+
+    @Test
+    void withFanoutEveryInstanceNotifiesItsClientsWhilePersistenceStaysSingleConsumer() {
+        startInstances(true);
+
+        broker.publish(completed(1L, true));
+        broker.publish(completed(2L, false));
+
+        verify(database, times(2)).updateProposalStatuses(anyList());
+        dispatchers.forEach(dispatcher -> verify(dispatcher, times(2)).dispatch(any(RenderedProposal.class), any()));
+    }
+
+    @Test
+    void withFanoutEveryInstanceCachesTheStoredVersionOfTheDecision() {
+        startInstances(true);
+
+        broker.publish(completed(1L, true));
+
+        caches.forEach(cache -> verify(cache, atLeastOnce()).put(eq(1L),
+                argThat(rendered -> Boolean.TRUE.equals(rendered.response().approved())
+                        && Long.valueOf(1L).equals(rendered.version()))));
+    }
+
+    @Test
+    void withFanoutNothingIsDeliveredUntilTheDecisionIsStored() {
+        startInstances(true);
+        when(database.updateProposalStatuses(anyList())).thenThrow(new IllegalStateException("database down"));
+
+        assertThatThrownBy(() -> broker.publish(completed(1L, true))).isInstanceOf(IllegalStateException.class);
+
+        dispatchers.forEach(dispatcher -> verify(dispatcher, never()).dispatch(any(RenderedProposal.class), any()));
+        waiters.forEach(instanceWaiters -> verify(instanceWaiters, never()).complete(any()));
+        caches.forEach(cache -> verify(cache, never()).put(any(), any()));
+    }
+
+    @Test
+    void withFanoutRedeliveredDecisionsAreNotPushedAgain() {
+        startInstances(true);
+        var message = completed(1L, true);
+
+        broker.publish(message);
+        broker.publish(message);
+        broker.publish(completed(1L, false));
+
+        dispatchers.forEach(dispatcher -> verify(dispatcher, times(2)).dispatch(any(RenderedProposal.class), any()));
+    }
+
+    private void startInstances(boolean clusterFanout) {
+        for (int i = 0; i < INSTANCES; i++) {
+            var dispatcher = mock(WebSocketDispatcher.class);
+            var instanceWaiters = mock(ProposalDecisionWaiters.class);
+            var cache = mock(ProposalResponseCache.class);
+            dispatchers.add(dispatcher);
+            waiters.add(instanceWaiters);
+            caches.add(cache);
+
+            var listener = new CompletedProposalListener(database, dispatcher, proposalResponseMapper,
+                    proposalResponseRenderer, cache,
+                    new ProposalMetrics(new SimpleMeterRegistry()), new ProposalDecisionWindow(1000, 600),
+                    new StripedBatchProcessor(1), instanceWaiters, publisher, clusterFanout);
+            broker.sharedQueue.add(listener::handleCompletedProposals);
+
+            if (clusterFanout) {
+                var fanoutListener = new CompletedProposalFanoutListener(dispatcher, proposalResponseMapper,
+                        proposalResponseRenderer, cache, instanceWaiters, 1000, 600);
+                broker.instanceQueues.add(fanoutListener::handleCompletedProposals);
+            }
+        }
+    }
+
+    private static Message<Proposal> completed(Long id, boolean approved) {
+        return MessageBuilder.withPayload(Proposal.builder()
+                .id(id)
+                .approved(approved)
+                .observation(approved ? "Approved" : "Denied")
+                .build()).build();
+    }
+
+    /**
+     * Stand-in of the completed-proposal and stored-decision fanout exchanges.
+     * Each completed proposal is delivered once to the shared queue, whose
+     * consumers compete round-robin; each stored decision is delivered once to
+     * every instance's exclusive queue.
+     */
+    private static final class StandInBroker {
+
+        private final List<Consumer<List<Message<Proposal>>>> sharedQueue = new ArrayList<>();
+        private final List<Consumer<List<Message<Proposal>>>> instanceQueues = new ArrayList<>();
+        private int next;
+
+        void publish(Message<Proposal> message) {
+            sharedQueue.get(next++ % sharedQueue.size()).accept(List.of(message));
+        }
+
+        void publishStored(Message<Proposal> message) {
+            instanceQueues.forEach(queue -> queue.accept(List.of(message)));
+        }
+    }
+}
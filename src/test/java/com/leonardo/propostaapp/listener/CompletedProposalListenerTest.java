@@ -0,0 +1,140 @@
+package com.leonardo.propostaapp.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import com.leonardo.propostaapp.dto.ProposalResponse;
+import com.leonardo.propostaapp.dto.RenderedProposal;
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.mapper.ProposalResponseMapper;
+import com.leonardo.propostaapp.mapper.ProposalResponseRenderer;
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
+import com.leonardo.propostaapp.metrics.ProposalTrace;
+import com.leonardo.propostaapp.service.ProposalDecisionPublisher;
+import com.leonardo.propostaapp.service.ProposalDecisionWaiters;
+import com.leonardo.propostaapp.service.ProposalDecisionWindow;
+import com.leonardo.propostaapp.service.ProposalResponseCache;
+import com.leonardo.propostaapp.service.ProposalService;
+import com.leonardo.propostaapp.service.WebSocketDispatcher;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for the idempotent processing of redelivered completed proposals in
+ * {@link CompletedProposalListener}.
+ */
+@ExtendWith(MockitoExtension.class)
+class CompletedProposalListenerTest {
+
+    @Mock
+    private ProposalService proposalService;
+
+    @Mock
+    private WebSocketDispatcher webSocketDispatcher;
+
+    @Mock
+    private ProposalResponseMapper proposalResponseMapper;
+
+    @Mock
+    private ProposalResponseRenderer proposalResponseRenderer;
+
+    @Mock
+    private ProposalResponseCache proposalResponseCache;
+
+    @Mock
+    private ProposalDecisionWaiters proposalDecisionWaiters;
+
+    @Mock
+    private ProposalDecisionPublisher proposalDecisionPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CompletedProposalListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new CompletedProposalListener(proposalService, webSocketDispatcher, proposalResponseMapper,
+                proposalResponseRenderer, proposalResponseCache, new ProposalMetrics(meterRegistry),
+                new ProposalDecisionWindow(1000, 600), new StripedBatchProcessor(1),
+                proposalDecisionWaiters, proposalDecisionPublisher, false);
+    }
+
+    @Test
+    void redeliveredDecisionsAreNeitherWrittenNorPushedAgain() {
+        stubRendering();
+        when(proposalService.updateProposalStatuses(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<Message<Proposal>> batch = List.of(completed(1L, true), completed(2L, false));
+
+        listener.handleCompletedProposals(batch);
+        listener.handleCompletedProposals(batch);
+
+        verify(proposalService, times(1)).updateProposalStatuses(anyList());
+        verify(webSocketDispatcher, times(2)).dispatch(any(RenderedProposal.class), any());
+        assertThat(duplicates("window")).isEqualTo(2);
+    }
+
+    @Test
+    void decisionsAlreadyStoredInTheDatabaseAreNotPushed() {
+        when(proposalService.updateProposalStatuses(anyList())).thenReturn(List.of());
+        List<Message<Proposal>> batch = List.of(completed(1L, true));
+
+        listener.handleCompletedProposals(batch);
+        listener.handleCompletedProposals(batch);
+
+        verify(proposalService, times(1)).updateProposalStatuses(anyList());
+        verify(webSocketDispatcher, never()).dispatch(any(RenderedProposal.class), any());
+        assertThat(duplicates("database")).isEqualTo(1);
+        assertThat(duplicates("window")).isEqualTo(1);
+    }
+
+    @Test
+    void aChangedDecisionIsStillApplied() {
+        stubRendering();
+        when(proposalService.updateProposalStatuses(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        listener.handleCompletedProposals(List.of(completed(1L, true)));
+        listener.handleCompletedProposals(List.of(completed(1L, false)));
+        listener.handleCompletedProposals(List.of(completed(1L, false), completed(1L, true)));
+
+        verify(proposalService, times(3)).updateProposalStatuses(anyList());
+        verify(webSocketDispatcher, times(3)).dispatch(any(RenderedProposal.class), any());
+    }
+
+    private void stubRendering() {
+        when(proposalResponseRenderer.render(any(), any()))
+                .thenAnswer(invocation -> new RenderedProposal(invocation.getArgument(0), new byte[0]));
+        when(proposalResponseMapper.toResponse(any(Proposal.class))).thenAnswer(invocation -> {
+            Proposal proposal = invocation.getArgument(0);
+            return new ProposalResponse(proposal.getId(), null, null, null, null, null, null, 0,
+                    proposal.getApproved(), proposal.getObservation());
+        });
+    }
+
+    private double duplicates(String check) {
+        return meterRegistry.get("proposal.listener.duplicates").tag("check", check).counter().count();
+    }
+
+    private static Message<Proposal> completed(Long id, boolean approved) {
+        return MessageBuilder.withPayload(Proposal.builder()
+                        .id(id)
+                        .approved(approved)
+                        .observation(approved ? "Approved" : "Denied")
+                        .build())
+                .setHeader(ProposalTrace.TRACE_ID_HEADER, "trace-" + id)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.leonardo.propostaapp.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StripedBatchProcessor}.
+ */
+class StripedBatchProcessorTest {
+
+    private static final int STRIPES = 4;
+
+    private final StripedBatchProcessor processor = new StripedBatchProcessor(STRIPES);
+
+    @AfterEach
+    void tearDown() {
+        processor.stop();
+    }
+
+    @Test
+    void neverReordersUpdatesOfTheSameKey() {
+        Map<Long, List<Integer>> applied = new ConcurrentHashMap<>();
+        List<List<Update>> batches = new ArrayList<>();
+        int sequence = 0;
+        for (int batch = 0; batch < 50; batch++) {
+            List<Update> updates = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                updates.add(new Update(ThreadLocalRandom.current().nextLong(10), sequence++));
+            }
+            batches.add(updates);
+        }
+
+        batches.forEach(batch -> processor.process(batch, Update::key, stripe -> stripe.forEach(update -> {
+            jitter();
+            applied.computeIfAbsent(update.key(), key -> new ArrayList<>()).add(update.sequence());
+        })));
+
+        batches.stream().flatMap(List::stream).map(Update::key).distinct().forEach(key -> {
+            List<Integer> expected = batches.stream().flatMap(List::stream)
+                    .filter(update -> update.key() == key)
+                    .map(Update::sequence)
+                    .toList();
+            assertThat(applied.get(key)).as("updates of key %d", key).containsExactlyElementsOf(expected);
+        });
+    }
+
+    @Test
+    void processesStripesInParallel() {
+        CountDownLatch allStripesRunning = new CountDownLatch(STRIPES);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Update> batch = List.of(new Update(0, 0), new Update(1, 1), new Update(2, 2), new Update(3, 3));
+
+        processor.process(batch, Update::key, stripe -> {
+            threads.add(Thread.currentThread().getName());
+            allStripesRunning.countDown();
+            try {
+                assertThat(allStripesRunning.await(5, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThat(threads).hasSize(STRIPES);
+    }
+
+    @Test
+    void rethrowsAStripeFailureAfterTheOtherStripesComplete() {
+        AtomicInteger completed = new AtomicInteger();
+        List<Update> batch = List.of(new Update(0, 0), new Update(1, 1), new Update(2, 2), new Update(3, 3));
+
+        assertThatThrownBy(() -> processor.process(batch, Update::key, stripe -> {
+            if (stripe.getFirst().key() == 2) {
+                throw new IllegalArgumentException("stripe failed");
+            }
+            completed.incrementAndGet();
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("stripe failed");
+        assertThat(completed).hasValue(3);
+    }
+
+    private static void jitter() {
+        try {
+            Thread.sleep(0, ThreadLocalRandom.current().nextInt(50_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Update(long key, int sequence) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.leonardo.propostaapp.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.leonardo.propostaapp.dto.ProposalMessage;
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.entity.User;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+/**
+ * Tests for {@link ProposalBinaryMessageConverter} and
+ * {@link ProposalMessageCodec}.
+ */
+class ProposalBinaryMessageConverterTest {
+
+    private final Jackson2JsonMessageConverter json = new Jackson2JsonMessageConverter();
+    private final ProposalBinaryMessageConverter binary = new ProposalBinaryMessageConverter(json);
+
+    @Test
+    void roundTripsAllFields() {
+        var message = new ProposalMessage(42L, 10000.0, 36, true, true, "Aprovada — ção", 7L, "John", "Doe",
+                "123.456.789-00", "5511987654321", 12000.0);
+
+        assertThat(ProposalMessageCodec.decode(ProposalMessageCodec.encode(message))).isEqualTo(message);
+    }
+
+    @Test
+    void roundTripsPendingProposalWithNulls() {
+        var message = new ProposalMessage(null, null, -1, null, false, null, null, null, "", null, null, null);
+
+        assertThat(ProposalMessageCodec.decode(ProposalMessageCodec.encode(message))).isEqualTo(message);
+    }
+
+    @Test
+    void rejectsUnknownVersionsAndTruncatedMessages() {
+        byte[] encoded = ProposalMessageCodec.encode(ProposalMessage.from(proposal()));
+
+        byte[] nextVersion = encoded.clone();
+        nextVersion[0] = ProposalMessageCodec.VERSION + 1;
+        assertThatThrownBy(() -> ProposalMessageCodec.decode(nextVersion))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+
+        Message truncated = new Message(Arrays.copyOf(encoded, encoded.length - 3), new MessageProperties());
+        assertThatThrownBy(() -> binary.fromMessage(truncated)).isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void negotiatesFormatByContentType() {
+        var converter = new ContentTypeDelegatingMessageConverter(binary);
+        converter.addDelegate(MessageProperties.CONTENT_TYPE_JSON, json);
+        converter.addDelegate(ProposalBinaryMessageConverter.CONTENT_TYPE, binary);
+
+        Message binaryMessage = converter.toMessage(proposal(), new MessageProperties());
+        Message jsonMessage = json.toMessage(proposal(), new MessageProperties());
+
+        assertThat(binaryMessage.getMessageProperties().getContentType())
+                .isEqualTo(ProposalBinaryMessageConverter.CONTENT_TYPE);
+        for (Message message : List.of(binaryMessage, jsonMessage)) {
+            var decoded = (Proposal) converter.fromMessage(message);
+            assertThat(decoded.getId()).isEqualTo(42L);
+            assertThat(decoded.getApproved()).isTrue();
+            assertThat(decoded.getObservation()).isEqualTo("Approved");
+            assertThat(decoded.getUser().getCpf()).isEqualTo("123.456.789-00");
+            assertThat(decoded.getUser().getProposal()).isSameAs(decoded);
+        }
+        assertThat(binaryMessage.getBody().length).isLessThan(jsonMessage.getBody().length / 2);
+    }
+
+    @Test
+    void sendsOtherPayloadsThroughTheFallback() {
+        Message message = binary.toMessage(List.of(1L, 2L), new MessageProperties());
+
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+    }
+
+    private static Proposal proposal() {
+        var user = User.builder().id(7L).name("John").lastName("Doe").cpf("123.456.789-00")
+                .phoneNumber("5511987654321").financialIncome(12000.0).build();
+        var proposal = Proposal.builder().id(42L).proposalValue(10000.0).paymentTerm(36).approved(true)
+                .integrated(true).observation("Approved").user(user).build();
+        user.setProposal(proposal);
+        return proposal;
+    }
+}
@@ -0,0 +1,76 @@
+package com.leonardo.propostaapp.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link ProposalTrace} and the lifecycle stages recorded from it by
+ * {@link ProposalMetrics}.
+ */
+class ProposalTraceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProposalMetrics proposalMetrics = new ProposalMetrics(registry);
+
+    @Test
+    void readsTimestampsWrittenAsNumbersOrText() {
+        var trace = ProposalTrace.fromHeaders(Map.of(
+                ProposalTrace.TRACE_ID_HEADER, "trace-1",
+                ProposalTrace.CREATED_AT_HEADER, 1_000L,
+                ProposalTrace.PUBLISHED_AT_HEADER, "1100",
+                ProposalTrace.ANALYSIS_STARTED_AT_HEADER, 1_300,
+                ProposalTrace.ANALYSIS_COMPLETED_AT_HEADER, "not-a-number"), 2_000L);
+
+        assertThat(trace.traceId()).isEqualTo("trace-1");
+        assertThat(trace.createdAt()).isEqualTo(1_000L);
+        assertThat(trace.publishedAt()).isEqualTo(1_100L);
+        assertThat(trace.analysisStartedAt()).isEqualTo(1_300L);
+        assertThat(trace.analysisCompletedAt()).isZero();
+        assertThat(trace.hasAnalysisStamps()).isFalse();
+    }
+
+    @Test
+    void ignoresMessagesWithoutTraceId() {
+        assertThat(ProposalTrace.fromHeaders(Map.of(ProposalTrace.CREATED_AT_HEADER, 1_000L), 2_000L)).isNull();
+    }
+
+    @Test
+    void splitsBrokerWaitFromCreditAnalysisWhenTheAnalysisStampsItsWork() {
+        var trace = new ProposalTrace("trace-1", 1_000, 1_100, 1_300, 1_800, 1_850, 0).updated(1_900);
+
+        proposalMetrics.recordReceived(trace);
+        proposalMetrics.recordStage(ProposalMetrics.Stage.UPDATE, trace.receivedAt(), trace.updatedAt());
+        proposalMetrics.recordPushed(trace, 1_950);
+
+        assertThat(stageMillis("broker_wait")).isEqualTo(250);
+        assertThat(stageMillis("credit_analysis")).isEqualTo(500);
+        assertThat(stageMillis("update")).isEqualTo(50);
+        assertThat(stageMillis("push")).isEqualTo(50);
+        assertThat(stageMillis("total")).isEqualTo(950);
+    }
+
+    @Test
+    void recordsTheRoundTripAsCreditAnalysisWithoutAnalysisStamps() {
+        proposalMetrics.recordReceived(new ProposalTrace("trace-1", 1_000, 1_100, 0, 0, 1_700, 0));
+
+        assertThat(stageMillis("credit_analysis")).isEqualTo(600);
+        assertThat(registry.get("proposal.lifecycle").tag("stage", "broker_wait").timer().count()).isZero();
+    }
+
+    @Test
+    void ignoresNegativeSpansCausedByClockSkew() {
+        proposalMetrics.recordStage(ProposalMetrics.Stage.PUBLISH, 2_000, 1_000);
+
+        assertThat(registry.get("proposal.lifecycle").tag("stage", "publish").timer().count()).isZero();
+    }
+
+    private double stageMillis(String stage) {
+        return registry.get("proposal.lifecycle").tag("stage", stage).timer().totalTime(TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,142 @@
+package com.leonardo.propostaapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Checks that the filtered proposal queries stay index-backed on a large,
+ * analyzed table created by the Flyway migrations in an embedded PostgreSQL.
+ * The rows all land in the current month's partition; the other partitions
+ * are empty, and PostgreSQL rightly plans a free sequential scan for them, so
+ * only scans of populated tables are checked.
+ * The row count defaults to 200,000 and can be raised for a full-size check:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=ProposalQueryPlanTest -Dquery-plan.rows=50000000
+ * </pre>
+ */
+class ProposalQueryPlanTest {
+
+    private static final long ROWS = Long.getLong("query-plan.rows", 200_000);
+    private static final String DATA_PARTITION =
+            ProposalPartitionRepository.partitionName(YearMonth.now(ZoneOffset.UTC));
+    private static final Set<String> INDEX_SCANS = Set.of("Index Scan", "Index Only Scan", "Bitmap Heap Scan");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static Set<String> populatedTables;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        var dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update("INSERT INTO users (id, name, last_name, cpf, phone_number, financial_income) "
+                + "SELECT g, 'John', 'Doe', lpad(g::text, 11, '0'), '5511987654321', 5000 "
+                + "FROM generate_series(1, ?) g", ROWS);
+        // One proposal in 10,000 waits for integration, one in 1,000 for a
+        // decision and one in 100 is denied, spread over the current month's
+        // partition.
+        jdbcTemplate.update("INSERT INTO proposal (id, proposal_value, payment_term, approved, integrated, "
+                + "observation, user_id, created_at) "
+                + "SELECT g, 10000, 36, CASE WHEN g % 1000 = 0 THEN NULL ELSE g % 100 <> 0 END, g % 10000 <> 0, "
+                + "'Approved', g, (date_trunc('month', now() AT TIME ZONE 'UTC') AT TIME ZONE 'UTC') "
+                + "+ (g % 28) * INTERVAL '1 day' "
+                + "FROM generate_series(1, ?) g", ROWS);
+        jdbcTemplate.execute("ANALYZE");
+        populatedTables = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT relname FROM pg_class WHERE relkind = 'r' AND reltuples > 0", String.class));
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void nonIntegratedBacklogUsesThePartialIndex() {
+        assertIndexBacked("SELECT * FROM proposal WHERE integrated = false", DATA_PARTITION);
+        assertIndexBacked("SELECT count(*) FROM proposal WHERE integrated = false", DATA_PARTITION);
+    }
+
+    @Test
+    void pendingDecisionsUseTheApprovedIndex() {
+        assertIndexBacked("SELECT * FROM proposal WHERE approved IS NULL", DATA_PARTITION);
+    }
+
+    @Test
+    void deniedLookupUsesTheApprovedIndex() {
+        // findAllByApproved(false); null is the IS NULL check above. Approved
+        // proposals are most of the table, so a scan is right for true.
+        assertIndexBacked("SELECT * FROM proposal p1_0 WHERE p1_0.approved = false", DATA_PARTITION);
+    }
+
+    @Test
+    void cpfLookupUsesTheUsersIndex() {
+        assertIndexBacked("SELECT * FROM users WHERE cpf = '00000012345'", "users");
+    }
+
+    @Test
+    void lookupsAndUpdatesByIdUseTheIdIndex() {
+        assertIndexBacked("SELECT * FROM proposal p JOIN users u ON u.id = p.user_id WHERE p.id IN (10, 20, 30)",
+                DATA_PARTITION);
+        assertIndexBacked("UPDATE proposal SET integrated = true WHERE id IN (10, 20, 30)", DATA_PARTITION);
+    }
+
+    @Test
+    void createsMonthlyPartitions() {
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM pg_inherits i "
+                + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'proposal'", Long.class))
+                .isEqualTo(4);
+    }
+
+    /**
+     * Asserts that the plan of a statement reads the given table through an
+     * index and does not scan any populated table sequentially.
+     */
+    private static void assertIndexBacked(String sql, String table) {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        var scans = new ArrayList<JsonNode>();
+        try {
+            collectScans(objectMapper.readTree(json).get(0).get("Plan"), scans);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read the plan of " + sql, e);
+        }
+        String plan = scans.toString();
+
+        assertThat(scans).as(sql + " " + plan)
+                .noneMatch(scan -> "Seq Scan".equals(scan.get("Node Type").asText())
+                        && populatedTables.contains(scan.get("Relation Name").asText()))
+                .anyMatch(scan -> INDEX_SCANS.contains(scan.get("Node Type").asText())
+                        && table.equals(scan.get("Relation Name").asText()));
+    }
+
+    private static void collectScans(JsonNode node, List<JsonNode> scans) {
+        if (node.has("Relation Name")) {
+            scans.add(node);
+        }
+        node.path("Plans").forEach(child -> collectScans(child, scans));
+    }
+}
@@ -0,0 +1,135 @@
+package com.leonardo.propostaapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.exception.MessagingServiceException;
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for the publisher-confirm pipelining of
+ * {@link NotificationRabbitService#notifyAsync}.
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationRabbitServiceTest {
+
+    private static final String EXCHANGE = "pending-proposal.ex";
+    private static final MessagePostProcessor NO_OP = message -> message;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private final List<CorrelationData> published = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationRabbitService notificationRabbitService;
+
+    @BeforeEach
+    void setUp() {
+        notificationRabbitService = new NotificationRabbitService(rabbitTemplate,
+                new ProposalMetrics(meterRegistry), 2);
+        ReflectionTestUtils.setField(notificationRabbitService, "acquireTimeoutMs", 10L);
+    }
+
+    @Test
+    void completesOnlyOnceTheBrokerAcks() {
+        capturePublishes();
+
+        CompletableFuture<Void> future = notificationRabbitService.notifyAsync(proposal(1L), EXCHANGE, NO_OP);
+
+        assertThat(future).isNotDone();
+        ack(published.get(0));
+        assertThat(future).isCompleted();
+        assertThat(meterRegistry.get("proposal.publish").tag("outcome", "ack").timer().count()).isEqualTo(1);
+        assertThat(notificationRabbitService.getAvailableInFlightSlots()).isEqualTo(2);
+    }
+
+    @Test
+    void failsOnNackAndOnReturnedMessages() {
+        capturePublishes();
+
+        CompletableFuture<Void> nacked = notificationRabbitService.notifyAsync(proposal(1L), EXCHANGE, NO_OP);
+        CompletableFuture<Void> returned = notificationRabbitService.notifyAsync(proposal(2L), EXCHANGE, NO_OP);
+        published.get(0).getFuture().complete(new CorrelationData.Confirm(false, "queue full"));
+        published.get(1).setReturned(new ReturnedMessage(new Message(new byte[0], new MessageProperties()),
+                312, "NO_ROUTE", EXCHANGE, ""));
+        ack(published.get(1));
+
+        assertThatThrownBy(nacked::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(MessagingServiceException.class)
+                .hasMessageContaining("queue full");
+        assertThatThrownBy(returned::get).isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("NO_ROUTE");
+        assertThat(notificationRabbitService.getAvailableInFlightSlots()).isEqualTo(2);
+        assertThat(meterRegistry.get("proposal.publish.failures").tag("reason", "nack").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("proposal.publish.failures").tag("reason", "returned").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void boundsTheNumberOfUnconfirmedMessages() {
+        capturePublishes();
+        notificationRabbitService.notifyAsync(proposal(1L), EXCHANGE, NO_OP);
+        notificationRabbitService.notifyAsync(proposal(2L), EXCHANGE, NO_OP);
+
+        assertThatThrownBy(() -> notificationRabbitService.notifyAsync(proposal(3L), EXCHANGE, NO_OP))
+                .isInstanceOf(MessagingServiceException.class)
+                .hasMessageContaining("in-flight slot");
+
+        ack(published.get(0));
+        notificationRabbitService.notifyAsync(proposal(3L), EXCHANGE, NO_OP);
+        assertThat(published).hasSize(3);
+    }
+
+    @Test
+    void releasesTheSlotWhenSendingFails() {
+        doThrow(new AmqpConnectException(new RuntimeException("connection refused"))).when(rabbitTemplate)
+                .convertAndSend(eq(EXCHANGE), anyString(), any(Object.class), any(MessagePostProcessor.class),
+                        any(CorrelationData.class));
+
+        assertThatThrownBy(() -> notificationRabbitService.notifyAsync(proposal(1L), EXCHANGE, NO_OP))
+                .isInstanceOf(MessagingServiceException.class);
+        assertThat(notificationRabbitService.getAvailableInFlightSlots()).isEqualTo(2);
+    }
+
+    private void capturePublishes() {
+        doAnswer(invocation -> published.add(invocation.getArgument(4))).when(rabbitTemplate)
+                .convertAndSend(eq(EXCHANGE), anyString(), any(Object.class), any(MessagePostProcessor.class),
+                        any(CorrelationData.class));
+    }
+
+    private static void ack(CorrelationData correlationData) {
+        correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+    }
+
+    private static Proposal proposal(Long id) {
+        return Proposal.builder().id(id).build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.leonardo.propostaapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leonardo.propostaapp.dto.ProposalBatchItemResult;
+import com.leonardo.propostaapp.dto.ProposalRequest;
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.exception.BatchSizeExceededException;
+import com.leonardo.propostaapp.exception.MalformedBatchException;
+import com.leonardo.propostaapp.websocket.ProposalSubscriptionTokens;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.validation.Validation;
+
+/**
+ * Tests for {@link ProposalBatchService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProposalBatchServiceTest {
+
+    private static final ProposalRequest VALID = new ProposalRequest("John", "Doe", "123.456.789-00",
+            "5511987654321", 12000.0, 10000.0, 36);
+    private static final ProposalRequest INVALID_CPF = new ProposalRequest("Jane", "Doe", "123",
+            "5511987654321", 12000.0, 10000.0, 36);
+
+    @Mock
+    private ProposalService proposalService;
+
+    private final ProposalSubscriptionTokens tokens = new ProposalSubscriptionTokens("test-secret");
+    private ProposalBatchService proposalBatchService;
+
+    @BeforeEach
+    void setUp() {
+        proposalBatchService = new ProposalBatchService(proposalService,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), tokens);
+        ReflectionTestUtils.setField(proposalBatchService, "maxBatchSize", 3);
+    }
+
+    @Test
+    void persistsValidItemsAndReportsEachItemInOrder() {
+        stubCreateProposals();
+
+        var response = proposalBatchService.submit(Arrays.asList(VALID, INVALID_CPF, null));
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.rejected()).isEqualTo(2);
+        assertThat(response.items()).extracting(ProposalBatchItemResult::index).containsExactly(0, 1, 2);
+        assertThat(response.items().get(0).id()).isEqualTo(1L);
+        assertThat(tokens.verify(1L, response.items().get(0).subscriptionToken())).isTrue();
+        assertThat(response.items().get(1).subscriptionToken()).isNull();
+        assertThat(response.items().get(1).errors()).containsOnlyKeys("cpf");
+        assertThat(response.items().get(2).errors()).containsOnlyKeys("body");
+        verify(proposalService).createProposals(List.of(VALID));
+    }
+
+    @Test
+    void streamsJsonArraysAndRejectsItemsThatDoNotBind() throws Exception {
+        stubCreateProposals();
+        String json = """
+                [{"name":"John","lastName":"Doe","cpf":"123.456.789-00","phoneNumber":"5511987654321",\
+                "financialIncome":12000.0,"proposalValue":10000.0,"paymentTerm":36},
+                {"name":"Jane","financialIncome":"high"},
+                null]
+                """;
+
+        var response = proposalBatchService.submitJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.items()).extracting(ProposalBatchItemResult::id).containsExactly(1L, null, null);
+        assertThat(response.items().get(1).errors().get("body")).startsWith("Malformed JSON");
+        assertThat(response.items().get(2).errors()).containsOnlyKeys("body");
+    }
+
+    @Test
+    void rejectsBodiesThatAreNotAWellFormedArray() {
+        assertThatThrownBy(() -> proposalBatchService.submitJson(
+                new ByteArrayInputStream("{\"name\":\"John\"}".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(MalformedBatchException.class);
+        assertThatThrownBy(() -> proposalBatchService.submitJson(
+                new ByteArrayInputStream("[{\"name\":".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(MalformedBatchException.class);
+        verify(proposalService, never()).createProposals(anyList());
+    }
+
+    @Test
+    void stopsReadingAJsonArrayOnceItExceedsTheMaximum() {
+        // The fourth item is cut off, so reading it would fail; the size check comes first.
+        String json = "[{}, {}, {}, {\"name\":";
+
+        assertThatThrownBy(() -> proposalBatchService.submitJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(BatchSizeExceededException.class);
+        verify(proposalService, never()).createProposals(anyList());
+    }
+
+    @Test
+    void readsNdjsonAndRejectsMalformedLines() throws Exception {
+        stubCreateProposals();
+        String ndjson = """
+                {"name":"John","lastName":"Doe","cpf":"123.456.789-00","phoneNumber":"5511987654321",\
+                "financialIncome":12000.0,"proposalValue":10000.0,"paymentTerm":36}
+
+                {"name":
+                {"name":"Ana","lastName":"Lima","cpf":"98765432100","phoneNumber":"5585989924491",\
+                "financialIncome":3000.0,"proposalValue":5000.0,"paymentTerm":12}
+                """;
+
+        var response = proposalBatchService.submitNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.items()).extracting(ProposalBatchItemResult::id).containsExactly(1L, null, 2L);
+        assertThat(response.items().get(1).errors().get("body")).startsWith("Malformed JSON");
+    }
+
+    @Test
+    void rejectsBatchesLargerThanTheMaximum() {
+        assertThatThrownBy(() -> proposalBatchService.submit(List.of(VALID, VALID, VALID, VALID)))
+                .isInstanceOf(BatchSizeExceededException.class);
+        verify(proposalService, never()).createProposals(anyList());
+    }
+
+    private void stubCreateProposals() {
+        var ids = new AtomicLong();
+        when(proposalService.createProposals(anyList())).thenAnswer(invocation -> invocation
+                .<List<ProposalRequest>>getArgument(0).stream()
+                .map(request -> Proposal.builder().id(ids.incrementAndGet()).build())
+                .toList());
+    }
+}
@@ -0,0 +1,95 @@
+package com.leonardo.propostaapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import com.leonardo.propostaapp.dto.ProposalResponse;
+import com.leonardo.propostaapp.dto.RenderedProposal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tests for {@link ProposalDecisionWaiters}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProposalDecisionWaitersTest {
+
+    @Mock
+    private ProposalService proposalService;
+
+    private ProposalDecisionWaiters waiters;
+
+    @BeforeEach
+    void setUp() {
+        waiters = new ProposalDecisionWaiters(proposalService, 2, 60,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void answersDecidedProposalsWithoutWaiting() {
+        when(proposalService.getProposalById(1L)).thenReturn(rendered(1L, true));
+
+        var result = waiters.awaitDecision(1L, 30);
+
+        assertThat(result.hasResult()).isTrue();
+        assertThat(waiters.getWaitingCount()).isZero();
+    }
+
+    @Test
+    void parksPendingRequestsUntilTheDecisionArrives() {
+        when(proposalService.getProposalById(1L)).thenReturn(rendered(1L, null));
+
+        var first = waiters.awaitDecision(1L, 30);
+        var second = waiters.awaitDecision(1L, 30);
+
+        assertThat(first.hasResult()).isFalse();
+        assertThat(waiters.getWaitingCount()).isEqualTo(2);
+
+        waiters.complete(rendered(1L, null));
+        assertThat(first.hasResult()).isFalse();
+
+        var decided = rendered(1L, false);
+        waiters.complete(decided);
+        assertThat(first.getResult()).isSameAs(decided.json());
+        assertThat(second.getResult()).isSameAs(decided.json());
+        verify(proposalService, times(4)).getProposalById(1L);
+    }
+
+    @Test
+    void completesRequestsWhoseDecisionArrivedWhileRegistering() {
+        when(proposalService.getProposalById(1L)).thenReturn(rendered(1L, null), rendered(1L, true));
+
+        var result = waiters.awaitDecision(1L, 30);
+
+        assertThat(result.hasResult()).isTrue();
+    }
+
+    @Test
+    void answersImmediatelyWhenTheRegistryIsFullOrNoWaitIsRequested() {
+        when(proposalService.getProposalById(1L)).thenReturn(rendered(1L, null));
+
+        waiters.awaitDecision(1L, 30);
+        waiters.awaitDecision(1L, 30);
+
+        assertThat(waiters.awaitDecision(1L, 30).hasResult()).isTrue();
+        assertThat(waiters.awaitDecision(1L, 0).hasResult()).isTrue();
+        assertThat(waiters.getWaitingCount()).isEqualTo(2);
+    }
+
+    private static RenderedProposal rendered(Long id, Boolean approved) {
+        var response = new ProposalResponse(id, "JOHN", "DOE", "5511987654321", "123.456.789-00", 12000.0,
+                "$10,000.00", 36, approved, null);
+        return new RenderedProposal(response, String.valueOf(approved).getBytes(StandardCharsets.UTF_8));
+    }
+}
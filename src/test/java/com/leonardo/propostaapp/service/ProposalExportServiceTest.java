@@ -0,0 +1,100 @@
+package com.leonardo.propostaapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import com.leonardo.propostaapp.dto.ProposalExportRequest;
+import com.leonardo.propostaapp.exception.InvalidExportColumnException;
+import com.leonardo.propostaapp.repository.ProposalExportRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests for {@link ProposalExportService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProposalExportServiceTest {
+
+    private static final String CSV = "id,approved\n1,t\n2,f\n";
+
+    @Mock
+    private ProposalExportRepository proposalExportRepository;
+
+    @Test
+    void buildsTheCopyStatementFromTheSelectedColumnsAndFilters() {
+        var request = new ProposalExportRequest(List.of("id", "cpf"), true, false);
+
+        assertThat(ProposalExportService.copySql(request)).isEqualTo(
+                "COPY (SELECT p.id AS \"id\", u.cpf AS \"cpf\" FROM proposal p JOIN users u ON u.id = p.user_id"
+                        + " WHERE p.approved = true AND p.integrated = false ORDER BY p.id)"
+                        + " TO STDOUT WITH (FORMAT csv, HEADER true)");
+    }
+
+    @Test
+    void exportsEveryColumnWhenNoneAreSelected() {
+        var request = new ProposalExportRequest(null, null, null);
+
+        assertThat(request.columns()).isEqualTo(ProposalExportRequest.COLUMNS);
+        assertThat(ProposalExportService.COLUMN_EXPRESSIONS).containsOnlyKeys(ProposalExportRequest.COLUMNS);
+        assertThat(ProposalExportService.copySql(request)).doesNotContain("WHERE");
+    }
+
+    @Test
+    void rejectsColumnsOutsideTheWhitelist() {
+        assertThatThrownBy(() -> new ProposalExportRequest(List.of("id", "1; DROP TABLE users"), null, null))
+                .isInstanceOf(InvalidExportColumnException.class)
+                .hasMessageContaining("DROP TABLE");
+    }
+
+    @Test
+    void compressesTheExportOnTheFly() throws IOException {
+        stubCopy();
+        var output = new ByteArrayOutputStream();
+
+        long rows = new ProposalExportService(proposalExportRepository)
+                .export(new ProposalExportRequest(List.of("id", "approved"), null, null), output, true);
+
+        assertThat(rows).isEqualTo(2);
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(CSV);
+        }
+    }
+
+    @Test
+    void writesPlainCsvWithoutCompression() throws IOException {
+        stubCopy();
+        var output = new ByteArrayOutputStream();
+
+        new ProposalExportService(proposalExportRepository)
+                .export(new ProposalExportRequest(List.of("id", "approved"), null, null), output, false);
+
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(CSV);
+    }
+
+    private void stubCopy() {
+        when(proposalExportRepository.copyOut(anyString(), any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            try {
+                out.write(CSV.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return 2L;
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package com.leonardo.propostaapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.leonardo.propostaapp.dto.ProposalRequest;
+import com.leonardo.propostaapp.entity.Proposal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Tests for {@link ProposalGroupCommitter}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProposalGroupCommitterTest {
+
+    private static final int CALLERS = 40;
+
+    @Mock
+    private ProposalService proposalService;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final List<Integer> windowSizes = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private ProposalGroupCommitter committer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        committer.stop();
+    }
+
+    @Test
+    void groupsConcurrentCallersIntoBoundedWindows() throws Exception {
+        startCommitter(16, 50_000);
+        stubCreateProposals();
+
+        List<Future<Proposal>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            var request = request("Caller" + i);
+            results.add(callers.submit(() -> committer.createProposal(request)));
+        }
+
+        for (int i = 0; i < CALLERS; i++) {
+            Proposal proposal = results.get(i).get();
+            assertThat(proposal.getId()).isNotNull();
+            assertThat(proposal.getUser().getName()).isEqualTo("Caller" + i);
+        }
+        assertThat(windowSizes).allMatch(size -> size <= 16);
+        assertThat(windowSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(CALLERS);
+        assertThat(windowSizes.size()).isLessThan(CALLERS);
+    }
+
+    @Test
+    void retriesIndividuallyWhenTheWindowFails() throws Exception {
+        startCommitter(16, 50_000);
+        when(proposalService.createProposals(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        doAnswer(invocation -> toProposal(invocation.getArgument(0))).when(proposalService)
+                .createProposal(argThat(request -> request != null && request.name().equals("Good")));
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(proposalService)
+                .createProposal(argThat(request -> request != null && request.name().equals("Bad")));
+
+        Future<Proposal> good = callers.submit(() -> committer.createProposal(request("Good")));
+        Future<Proposal> bad = callers.submit(() -> committer.createProposal(request("Bad")));
+
+        assertThat(good.get().getId()).isNotNull();
+        assertThatThrownBy(bad::get).hasCauseInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void rejectsProposalsOnceStopped() throws Exception {
+        startCommitter(16, 50_000);
+        committer.stop();
+
+        Future<Proposal> late = callers.submit(() -> committer.createProposal(request("Late")));
+
+        assertThatThrownBy(late::get).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private void startCommitter(int maxBatchSize, long maxWaitMicros) {
+        committer = new ProposalGroupCommitter(proposalService, maxBatchSize, maxWaitMicros, 1000);
+        committer.start();
+    }
+
+    private void stubCreateProposals() {
+        when(proposalService.createProposals(anyList())).thenAnswer(invocation -> {
+            List<ProposalRequest> requests = invocation.getArgument(0);
+            windowSizes.add(requests.size());
+            return requests.stream().map(this::toProposal).toList();
+        });
+    }
+
+    private Proposal toProposal(ProposalRequest request) {
+        var proposal = request.toProposal(request.toUser());
+        proposal.setId(ids.incrementAndGet());
+        return proposal;
+    }
+
+    private static ProposalRequest request(String name) {
+        return new ProposalRequest(name, "Doe", "123.456.789-00", "5511987654321", 12000.0, 10000.0, 36);
+    }
+}
@@ -0,0 +1,208 @@
+package com.leonardo.propostaapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.LongStream;
+
+import com.leonardo.propostaapp.entity.OutboxMessage;
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.entity.User;
+import com.leonardo.propostaapp.exception.MessagingServiceException;
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
+import com.leonardo.propostaapp.metrics.ProposalTrace;
+import com.leonardo.propostaapp.repository.OutboxMessageRepository;
+import com.leonardo.propostaapp.repository.ProposalRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link ProposalOutboxService} using a stand-in broker that acks
+ * publisher confirms asynchronously.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProposalOutboxServiceTest {
+
+    private static final String EXCHANGE = "pending-proposal.ex";
+    private static final Instant CREATED_AT = Instant.parse("2024-05-01T12:00:00Z");
+
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Mock
+    private ProposalRepository proposalRepository;
+
+    @Mock
+    private NotificationRabbitService notificationRabbitService;
+
+    private ScheduledExecutorService broker;
+    private ProposalOutboxService proposalOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        broker = Executors.newSingleThreadScheduledExecutor();
+        proposalOutboxService = new ProposalOutboxService(outboxMessageRepository, proposalRepository,
+                notificationRabbitService, new ProposalMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(proposalOutboxService, "confirmTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(proposalOutboxService, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(proposalOutboxService, "maxBackoffMs", 300000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broker.shutdownNow();
+    }
+
+    @Test
+    void relayBatchRemovesAckedMessagesAndReschedulesTheRest() {
+        setBatchSize(3);
+        stubOutbox(3);
+        when(notificationRabbitService.notifyAsync(any(Proposal.class), anyString(),
+                any(MessagePostProcessor.class)))
+                .thenReturn(confirmed(true))
+                .thenReturn(confirmed(false))
+                .thenReturn(confirmed(true));
+
+        int relayed = proposalOutboxService.relayBatch();
+
+        assertThat(relayed).isEqualTo(2);
+        ArgumentCaptor<Collection<Long>> deleted = idsCaptor();
+        verify(outboxMessageRepository).deleteByIds(deleted.capture());
+        assertThat(deleted.getValue()).containsExactly(1L, 3L);
+        ArgumentCaptor<Collection<Long>> integrated = idsCaptor();
+        verify(proposalRepository).markIntegrated(integrated.capture());
+        assertThat(integrated.getValue()).containsExactly(101L, 103L);
+        ArgumentCaptor<Collection<Long>> rescheduled = idsCaptor();
+        verify(outboxMessageRepository).rescheduleWithBackoff(rescheduled.capture(), any(Instant.class),
+                anyLong(), anyLong());
+        assertThat(rescheduled.getValue()).containsExactly(2L);
+    }
+
+    @Test
+    void relayBatchReschedulesOnlyAttemptedMessagesWhenBrokerIsDown() {
+        setBatchSize(3);
+        stubOutbox(3);
+        when(notificationRabbitService.notifyAsync(any(Proposal.class), anyString(),
+                any(MessagePostProcessor.class)))
+                .thenReturn(confirmed(true))
+                .thenThrow(new MessagingServiceException("broker down"));
+
+        assertThat(proposalOutboxService.relayBatch()).isEqualTo(1);
+        ArgumentCaptor<Collection<Long>> rescheduled = idsCaptor();
+        verify(outboxMessageRepository).rescheduleWithBackoff(rescheduled.capture(), any(Instant.class),
+                anyLong(), anyLong());
+        // Message 3 was never sent, so it stays due without a backoff or a counted attempt.
+        assertThat(rescheduled.getValue()).containsExactly(2L);
+    }
+
+    @Test
+    void relayBatchDoesNothingWhenOutboxIsEmpty() {
+        setBatchSize(10);
+        when(outboxMessageRepository.claimDueBatch(any(Instant.class), anyInt())).thenReturn(List.of());
+
+        assertThat(proposalOutboxService.relayBatch()).isZero();
+        verify(outboxMessageRepository, never()).deleteByIds(anyCollection());
+        verify(proposalRepository, never()).markIntegrated(anyCollection());
+        verify(outboxMessageRepository, never()).rescheduleWithBackoff(anyCollection(), any(Instant.class),
+                anyLong(), anyLong());
+    }
+
+    @Test
+    void relayBatchPipelinesConfirmsInsteadOfWaitingPerMessage() {
+        int batchSize = 500;
+        setBatchSize(batchSize);
+        stubOutbox(batchSize);
+        List<CompletableFuture<Void>> outstanding = new ArrayList<>();
+        when(notificationRabbitService.notifyAsync(any(Proposal.class), anyString(),
+                any(MessagePostProcessor.class)))
+                .thenAnswer(invocation -> confirmedAfter(outstanding, batchSize));
+
+        // The stand-in broker only acks once the whole batch is outstanding, so
+        // waiting on any confirm before the last send would time out instead.
+        assertThat(proposalOutboxService.relayBatch()).isEqualTo(batchSize);
+        assertThat(outstanding).hasSize(batchSize).allMatch(CompletableFuture::isDone);
+    }
+
+    @Test
+    void relayBatchStampsPriorityAndTraceHeaders() throws Exception {
+        setBatchSize(1);
+        stubOutbox(1);
+        ArgumentCaptor<MessagePostProcessor> postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        when(notificationRabbitService.notifyAsync(any(Proposal.class), anyString(), postProcessor.capture()))
+                .thenReturn(confirmed(true));
+
+        proposalOutboxService.relayBatch();
+
+        Message message = postProcessor.getValue().postProcessMessage(
+                new Message(new byte[0], new MessageProperties()));
+        MessageProperties properties = message.getMessageProperties();
+        assertThat(properties.getPriority()).isEqualTo(5);
+        assertThat((String) properties.getHeader(ProposalTrace.TRACE_ID_HEADER)).isEqualTo("trace-1");
+        assertThat((Long) properties.getHeader(ProposalTrace.CREATED_AT_HEADER))
+                .isEqualTo(CREATED_AT.toEpochMilli());
+        assertThat((Long) properties.getHeader(ProposalTrace.PUBLISHED_AT_HEADER))
+                .isGreaterThanOrEqualTo(CREATED_AT.toEpochMilli());
+    }
+
+    private void setBatchSize(int batchSize) {
+        ReflectionTestUtils.setField(proposalOutboxService, "batchSize", batchSize);
+    }
+
+    private void stubOutbox(int size) {
+        List<OutboxMessage> messages = new ArrayList<>();
+        List<Proposal> proposals = new ArrayList<>();
+        LongStream.rangeClosed(1, size).forEach(id -> {
+            messages.add(OutboxMessage.builder().id(id).proposalId(100 + id).exchange(EXCHANGE).priority(5)
+                    .createdAt(CREATED_AT).traceId("trace-" + id).build());
+            proposals.add(Proposal.builder().id(100 + id).user(User.builder().name("John").build()).build());
+        });
+        when(outboxMessageRepository.claimDueBatch(any(Instant.class), anyInt())).thenReturn(messages);
+        when(proposalRepository.findAllWithUserByIdIn(anyCollection())).thenReturn(proposals);
+    }
+
+    private CompletableFuture<Void> confirmed(boolean ack) {
+        return ack ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.failedFuture(new MessagingServiceException("nack"));
+    }
+
+    private CompletableFuture<Void> confirmedAfter(List<CompletableFuture<Void>> outstanding, int batchSize) {
+        var confirm = new CompletableFuture<Void>();
+        outstanding.add(confirm);
+        if (outstanding.size() == batchSize) {
+            var batch = List.copyOf(outstanding);
+            broker.execute(() -> batch.forEach(pending -> pending.complete(null)));
+        }
+        return confirm;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<Long>> idsCaptor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+}
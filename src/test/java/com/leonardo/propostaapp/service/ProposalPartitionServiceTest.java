@@ -0,0 +1,98 @@
+package com.leonardo.propostaapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.leonardo.propostaapp.repository.ProposalPartitionRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Tests for {@link ProposalPartitionService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProposalPartitionServiceTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2025, 3);
+
+    @Mock
+    private ProposalPartitionRepository proposalPartitionRepository;
+
+    @InjectMocks
+    private ProposalPartitionService proposalPartitionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(proposalPartitionService, "monthsAhead", 2);
+        ReflectionTestUtils.setField(proposalPartitionService, "retentionMonths", 12);
+    }
+
+    @Test
+    void createsMissingPartitionsAheadAndDetachesExpiredOnes() {
+        holdMaintenanceLock();
+        when(proposalPartitionRepository.findAttachedMonths()).thenReturn(List.of(
+                YearMonth.of(2024, 1), YearMonth.of(2024, 2), YearMonth.of(2024, 3), CURRENT));
+
+        List<YearMonth> detached = proposalPartitionService.maintain(CURRENT);
+
+        verify(proposalPartitionRepository, never()).createPartition(CURRENT);
+        verify(proposalPartitionRepository).createPartition(YearMonth.of(2025, 4));
+        verify(proposalPartitionRepository).createPartition(YearMonth.of(2025, 5));
+        assertThat(detached).containsExactly(YearMonth.of(2024, 1), YearMonth.of(2024, 2));
+        verify(proposalPartitionRepository, never()).detachPartition(YearMonth.of(2024, 3));
+    }
+
+    @Test
+    void skipsMonthsThatFailAndKeepsMaintainingTheOthers() {
+        holdMaintenanceLock();
+        when(proposalPartitionRepository.findAttachedMonths()).thenReturn(List.of(
+                YearMonth.of(2024, 1), YearMonth.of(2024, 2), CURRENT));
+        when(proposalPartitionRepository.createPartition(YearMonth.of(2025, 4)))
+                .thenThrow(new DataIntegrityViolationException("partition constraint violated"));
+        doThrow(new CannotAcquireLockException("lock timeout"))
+                .when(proposalPartitionRepository).detachPartition(YearMonth.of(2024, 1));
+
+        List<YearMonth> detached = proposalPartitionService.maintain(CURRENT);
+
+        verify(proposalPartitionRepository).createPartition(YearMonth.of(2025, 5));
+        assertThat(detached).containsExactly(YearMonth.of(2024, 2));
+    }
+
+    @Test
+    void doesNothingWhileAnotherInstanceHoldsTheLock() {
+        when(proposalPartitionRepository.withMaintenanceLock(any())).thenReturn(Optional.empty());
+
+        assertThat(proposalPartitionService.maintain(CURRENT)).isEmpty();
+        verify(proposalPartitionRepository, never()).createPartition(any());
+        verify(proposalPartitionRepository, never()).detachPartition(any());
+    }
+
+    private void holdMaintenanceLock() {
+        when(proposalPartitionRepository.withMaintenanceLock(any()))
+                .thenAnswer(invocation -> Optional.of(invocation.<Supplier<?>>getArgument(0).get()));
+    }
+
+    @Test
+    void mapsPartitionNamesToMonths() {
+        assertThat(ProposalPartitionRepository.partitionName(CURRENT)).isEqualTo("proposal_p2025_03");
+        assertThat(ProposalPartitionRepository.monthOf("proposal_p2025_03")).contains(CURRENT);
+        assertThat(ProposalPartitionRepository.monthOf("proposal_default")).isEmpty();
+    }
+}
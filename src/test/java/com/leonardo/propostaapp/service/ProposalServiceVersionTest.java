@@ -0,0 +1,107 @@
+package com.leonardo.propostaapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import com.leonardo.propostaapp.dto.ProposalResponse;
+import com.leonardo.propostaapp.dto.ProposalVersion;
+import com.leonardo.propostaapp.dto.RenderedProposal;
+import com.leonardo.propostaapp.entity.Proposal;
+import com.leonardo.propostaapp.mapper.ProposalResponseMapper;
+import com.leonardo.propostaapp.mapper.ProposalResponseRenderer;
+import com.leonardo.propostaapp.metrics.ProposalMetrics;
+import com.leonardo.propostaapp.repository.ProposalBatchRepository;
+import com.leonardo.propostaapp.repository.ProposalRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for the version handling of {@link ProposalService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProposalServiceVersionTest {
+
+    @Mock
+    private ProposalRepository proposalRepository;
+
+    @Mock
+    private ProposalBatchRepository proposalBatchRepository;
+
+    @Mock
+    private ProposalOutboxService proposalOutboxService;
+
+    @Mock
+    private ProposalResponseCache proposalResponseCache;
+
+    @Mock
+    private ProposalResponseMapper proposalResponseMapper;
+
+    @Mock
+    private ProposalResponseRenderer proposalResponseRenderer;
+
+    private ProposalService proposalService;
+
+    @BeforeEach
+    void setUp() {
+        proposalService = new ProposalService(proposalRepository, proposalBatchRepository, proposalOutboxService,
+                proposalResponseCache, proposalResponseMapper, proposalResponseRenderer,
+                new ProposalMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void leavesOutDecisionsTheDatabaseRejectsAsStale() {
+        var stale = Proposal.builder().id(1L).version(1L).approved(true).build();
+        var current = Proposal.builder().id(2L).version(2L).approved(false).observation("Denied").build();
+        when(proposalBatchRepository.updateApprovalStatuses(List.of(stale, current))).thenReturn(new int[] { 0, 1 });
+        when(proposalRepository.findVersionsByIdIn(List.of(2L))).thenReturn(List.of(new ProposalVersion(2L, 3L)));
+
+        assertThat(proposalService.updateProposalStatuses(List.of(stale, current))).containsExactly(current);
+        assertThat(current.getVersion()).isEqualTo(3L);
+        assertThat(stale.getVersion()).isEqualTo(1L);
+        verify(proposalResponseCache).invalidate(List.of(2L));
+    }
+
+    @Test
+    void pageETagsTellApartPagesAWeakHashWouldConfuse() {
+        ReflectionTestUtils.setField(proposalService, "maxPageSize", 50);
+        when(proposalRepository.findVersionsAfter(eq(0L), any()))
+                .thenReturn(List.of(new ProposalVersion(1L, 1L), new ProposalVersion(2L, 961L)))
+                .thenReturn(List.of(new ProposalVersion(1L, 2L), new ProposalVersion(2L, 0L)))
+                .thenReturn(List.of(new ProposalVersion(1L, 1L), new ProposalVersion(2L, 961L)));
+
+        String first = proposalService.getProposalPageETag(0, 2);
+        String second = proposalService.getProposalPageETag(0, 2);
+
+        assertThat(first).isNotEqualTo(second).matches("\"[0-9a-f]{64}\"");
+        assertThat(proposalService.getProposalPageETag(0, 2)).isEqualTo(first);
+    }
+
+    @Test
+    void reloadsCachedResponsesOlderThanTheRequestedVersion() {
+        var cached = rendered(3L);
+        var reloaded = rendered(4L);
+        when(proposalResponseCache.get(eq(1L), any())).thenReturn(cached, cached, reloaded);
+
+        assertThat(proposalService.getProposalById(1L, 3L)).isSameAs(cached);
+        assertThat(proposalService.getProposalById(1L, 4L)).isSameAs(reloaded);
+        verify(proposalResponseCache).invalidateLocally(List.of(1L));
+    }
+
+    private static RenderedProposal rendered(long version) {
+        var response = new ProposalResponse(1L, "JOHN", "DOE", "5511987654321", "123.456.789-00", 12000.0,
+                "$10,000.00", 36, null, null);
+        return new RenderedProposal(response, new byte[0], version);
+    }
+}
@@ -0,0 +1,51 @@
+package com.leonardo.propostaapp.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * Tests for {@link RabbitProposalCacheInvalidationBroadcaster}.
+ */
+@ExtendWith(MockitoExtension.class)
+class RabbitProposalCacheInvalidationBroadcasterTest {
+
+    private static final String EXCHANGE = "proposal-cache-invalidation.ex";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ProposalResponseCache proposalResponseCache;
+
+    @Test
+    void skipsItsOwnBroadcastsAndAppliesOthers() {
+        var sender = new RabbitProposalCacheInvalidationBroadcaster(rabbitTemplate, proposalResponseCache, EXCHANGE);
+        var other = new RabbitProposalCacheInvalidationBroadcaster(rabbitTemplate, proposalResponseCache, EXCHANGE);
+
+        sender.broadcast(List.of(1L));
+        var postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(rabbitTemplate).convertAndSend(eq(EXCHANGE), eq(""), eq(List.of(1L)), postProcessor.capture());
+        String origin = postProcessor.getValue().postProcessMessage(new Message(new byte[0], new MessageProperties()))
+                .getMessageProperties().getHeader(RabbitProposalCacheInvalidationBroadcaster.ORIGIN_HEADER);
+
+        sender.handleInvalidation(List.of(1L), origin);
+        verify(proposalResponseCache, never()).invalidateLocally(any());
+
+        other.handleInvalidation(List.of(1L), origin);
+        verify(proposalResponseCache).invalidateLocally(List.of(1L));
+    }
+}
@@ -0,0 +1,111 @@
+package com.leonardo.propostaapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import com.leonardo.propostaapp.dto.ProposalResponse;
+import com.leonardo.propostaapp.dto.RenderedProposal;
+import com.leonardo.propostaapp.exception.MessagingServiceException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tests for {@link WebSocketDispatcher} with a stand-in WebSocket service that
+ * can be held to simulate a slow client.
+ */
+@ExtendWith(MockitoExtension.class)
+class WebSocketDispatcherTest {
+
+    @Mock
+    private WebSocketService webSocketService;
+
+    private final CountDownLatch released = new CountDownLatch(1);
+    private final CountDownLatch firstSendStarted = new CountDownLatch(1);
+    private final List<RenderedProposal> sent = new CopyOnWriteArrayList<>();
+    private WebSocketDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            firstSendStarted.countDown();
+            released.await(5, TimeUnit.SECONDS);
+            RenderedProposal proposal = invocation.getArgument(0);
+            if ("fail".equals(proposal.response().observation())) {
+                throw new MessagingServiceException("send failed");
+            }
+            sent.add(proposal);
+            return null;
+        }).when(webSocketService).notify(any(RenderedProposal.class), any());
+        dispatcher = new WebSocketDispatcher(webSocketService, 2,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        released.countDown();
+        dispatcher.stop();
+    }
+
+    @Test
+    void doesNotBlockWhileTheClientIsSlowAndSendsOnlyTheLatestState() throws Exception {
+        dispatcher.dispatch(rendered(1L, "first"));
+        assertThat(firstSendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        dispatcher.dispatch(rendered(2L, "pending"));
+        dispatcher.dispatch(rendered(2L, "approved"));
+        dispatcher.dispatch(rendered(2L, "denied"));
+        assertThat(dispatcher.getQueueDepth()).isEqualTo(1);
+        released.countDown();
+
+        waitUntil(() -> sent.size() == 2);
+        assertThat(sent).extracting(proposal -> proposal.response().observation())
+                .containsExactly("first", "denied");
+        assertThat(dispatcher.getConflatedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsUpdatesBeyondTheBoundAndCountsFailures() throws Exception {
+        dispatcher.dispatch(rendered(1L, "fail"));
+        assertThat(firstSendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        dispatcher.dispatch(rendered(2L, "queued"));
+        dispatcher.dispatch(rendered(3L, "queued"));
+        dispatcher.dispatch(rendered(4L, "dropped"));
+        assertThat(dispatcher.getDroppedCount()).isEqualTo(1);
+        released.countDown();
+
+        waitUntil(() -> dispatcher.getSentCount() == 2);
+        assertThat(dispatcher.getFailedCount()).isEqualTo(1);
+        assertThat(sent).extracting(proposal -> proposal.response().id()).containsExactly(2L, 3L);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static RenderedProposal rendered(Long id, String observation) {
+        var response = new ProposalResponse(id, "JOHN", "DOE", "5511987654321", "123.456.789-00", 12000.0,
+                "$10,000.00", 36, null, observation);
+        return new RenderedProposal(response, new byte[0]);
+    }
+}
@@ -0,0 +1,76 @@
+package com.leonardo.propostaapp.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Tests for {@link IndexedSubscriptionRegistry}.
+ */
+class IndexedSubscriptionRegistryTest {
+
+    private final IndexedSubscriptionRegistry registry = new IndexedSubscriptionRegistry();
+
+    @Test
+    void deliversOnlyToSessionsSubscribedToTheProposal() {
+        registry.registerSubscription(subscribe("session-1", "sub-1", "/proposals/1"));
+        registry.registerSubscription(subscribe("session-2", "sub-1", "/proposals/2"));
+        registry.registerSubscription(subscribe("session-3", "sub-1", "/proposals/1"));
+        registry.registerSubscription(subscribe("session-3", "sub-2", "/proposals/1"));
+
+        var subscriptions = registry.findSubscriptions(message("/proposals/1"));
+
+        assertThat(subscriptions).containsOnlyKeys("session-1", "session-3");
+        assertThat(subscriptions.get("session-3")).containsExactlyInAnyOrder("sub-1", "sub-2");
+        assertThat(registry.findSubscriptions(message("/proposals/3"))).isEmpty();
+    }
+
+    @Test
+    void keepsSupportingPatternSubscriptions() {
+        registry.registerSubscription(subscribe("session-1", "sub-1", "/proposals/1"));
+        registry.registerSubscription(subscribe("admin", "sub-1", "/proposals/*"));
+
+        assertThat(registry.findSubscriptions(message("/proposals/1"))).containsOnlyKeys("session-1", "admin");
+        assertThat(registry.findSubscriptions(message("/proposals/2"))).containsOnlyKeys("admin");
+    }
+
+    @Test
+    void removesSubscriptionsOnUnsubscribeAndDisconnect() {
+        registry.registerSubscription(subscribe("session-1", "sub-1", "/proposals/1"));
+        registry.registerSubscription(subscribe("session-1", "sub-2", "/proposals/2"));
+        registry.registerSubscription(subscribe("session-2", "sub-1", "/proposals/*"));
+
+        registry.unregisterSubscription(unsubscribe("session-1", "sub-1"));
+        assertThat(registry.findSubscriptions(message("/proposals/1"))).containsOnlyKeys("session-2");
+
+        registry.unregisterAllSubscriptions("session-1");
+        registry.unregisterAllSubscriptions("session-2");
+        assertThat(registry.findSubscriptions(message("/proposals/2"))).isEmpty();
+        assertThat(registry.getIndexedDestinationCount()).isZero();
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+        var accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> unsubscribe(String sessionId, String subscriptionId) {
+        var accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> message(String destination) {
+        var accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
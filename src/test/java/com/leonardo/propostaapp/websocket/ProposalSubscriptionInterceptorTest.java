@@ -0,0 +1,88 @@
+package com.leonardo.propostaapp.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Tests for {@link ProposalSubscriptionInterceptor}.
+ */
+class ProposalSubscriptionInterceptorTest {
+
+    private final ProposalSubscriptionTokens tokens = new ProposalSubscriptionTokens("test-secret");
+    private final ProposalSubscriptionInterceptor interceptor = new ProposalSubscriptionInterceptor(tokens, false);
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @Test
+    void allowsSubscribingToAProposalWithItsToken() {
+        var message = frame(StompCommand.SUBSCRIBE, "/proposals/42", tokens.issue(42));
+
+        assertThat(interceptor.preSend(message, channel)).isSameAs(message);
+    }
+
+    @Test
+    void rejectsSubscriptionsWithoutAValidToken() {
+        assertRejected(frame(StompCommand.SUBSCRIBE, "/proposals/42", null));
+        assertRejected(frame(StompCommand.SUBSCRIBE, "/proposals/42", tokens.issue(43)));
+        assertRejected(frame(StompCommand.SUBSCRIBE, "/proposals/42", "not-a-token!"));
+        assertThat(new ProposalSubscriptionTokens("other-secret").verify(42, tokens.issue(42))).isFalse();
+    }
+
+    @Test
+    void rejectsPatternSelectorAndUnknownDestinations() {
+        assertRejected(frame(StompCommand.SUBSCRIBE, "/proposals/*", tokens.issue(42)));
+        assertRejected(frame(StompCommand.SUBSCRIBE, "/proposals/**", tokens.issue(42)));
+        assertRejected(frame(StompCommand.SUBSCRIBE, "/proposals/4*", tokens.issue(42)));
+        assertRejected(frame(StompCommand.SUBSCRIBE, "/proposals/42/extra", tokens.issue(42)));
+        assertRejected(frame(StompCommand.SUBSCRIBE, "/proposals", null));
+
+        var selector = frame(StompCommand.SUBSCRIBE, "/proposals/42", tokens.issue(42));
+        StompHeaderAccessor.getAccessor(selector, StompHeaderAccessor.class)
+                .setNativeHeader("selector", "headers.foo == 'bar'");
+        assertRejected(selector);
+    }
+
+    @Test
+    void opensTheLegacyTopicOnlyWhileBroadcasting() {
+        var broadcasting = new ProposalSubscriptionInterceptor(tokens, true);
+        var message = frame(StompCommand.SUBSCRIBE, "/proposals", null);
+
+        assertThat(broadcasting.preSend(message, channel)).isSameAs(message);
+    }
+
+    @Test
+    void rejectsClientSendsToTheBroker() {
+        assertRejected(frame(StompCommand.SEND, "/proposals/42", tokens.issue(42)));
+        assertRejected(frame(StompCommand.SEND, "/proposals", null));
+
+        var connect = frame(StompCommand.CONNECT, null, null);
+        assertThat(interceptor.preSend(connect, channel)).isSameAs(connect);
+    }
+
+    private void assertRejected(Message<byte[]> message) {
+        assertThatThrownBy(() -> interceptor.preSend(message, channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String destination, String token) {
+        var accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId("session-1");
+        accessor.setSubscriptionId("sub-1");
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        if (token != null) {
+            accessor.setNativeHeader(ProposalSubscriptionTokens.HEADER, token);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}